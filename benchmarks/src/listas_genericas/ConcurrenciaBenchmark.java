@@ -0,0 +1,213 @@
+package listas_genericas;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendimiento de las listas seguras para varios hilos con una carga de 90%
+ * {@code buscar} y 10% modificaciones (mitad inserciones al frente, mitad
+ * eliminaciones), a 1, 4, 8 y 16 hilos.
+ *
+ * Se comparan {@link ListaSimpleConcurrente} (sin bloqueos),
+ * {@link ListaSimpleBloqueoFino} (un cerrojo por nodo),
+ * {@link ListaCopiaEnEscritura} (versiones persistentes publicadas con
+ * compare-and-set) y una {@link ListaSimple} protegida por un unico
+ * {@code synchronized}.
+ *
+ * @author Carlos Álvarez
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrenciaBenchmark {
+
+    @Param({"sinBloqueos", "bloqueoFino", "copiaEnEscritura", "sincronizada"})
+    public String implementacion;
+
+    @Param({"1000"})
+    public int cantidad;
+
+    @Param({"10"})
+    public int porcentajeEscrituras;
+
+    private Lista lista;
+    private Integer[] claves;
+    private PrintStream salidaOriginal;
+
+    /**
+     * Operaciones comunes a todas las implementaciones.
+     */
+    interface Lista {
+
+        Object buscar(Integer clave);
+
+        void insertarFrente(Integer clave);
+
+        Object eliminar(Integer clave);
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // ListaSimple.eliminar informa por consola las claves inexistentes;
+        // se descarta esa salida para no medir la escritura en la consola.
+        salidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        lista = crearLista(implementacion);
+        // El doble de claves que elementos: la mitad de las busquedas y
+        // eliminaciones encuentra su elemento.
+        claves = new Integer[cantidad * 2];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = i;
+        }
+        for (int i = 0; i < cantidad; i++) {
+            lista.insertarFrente(claves[i * 2]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        System.setOut(salidaOriginal);
+    }
+
+    @State(Scope.Thread)
+    public static class Hilo {
+
+        SplittableRandom azar;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            azar = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object mezcla01Hilo(Hilo hilo) {
+        return operar(hilo);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object mezcla04Hilos(Hilo hilo) {
+        return operar(hilo);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object mezcla08Hilos(Hilo hilo) {
+        return operar(hilo);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Object mezcla16Hilos(Hilo hilo) {
+        return operar(hilo);
+    }
+
+    private Object operar(Hilo hilo) {
+        Integer clave = claves[hilo.azar.nextInt(claves.length)];
+        int sorteo = hilo.azar.nextInt(100);
+        if (sorteo >= porcentajeEscrituras) {
+            return lista.buscar(clave);
+        }
+        if ((sorteo & 1) == 0) {
+            lista.insertarFrente(clave);
+            return clave;
+        }
+        return lista.eliminar(clave);
+    }
+
+    private static Lista crearLista(String implementacion) {
+        switch (implementacion) {
+            case "sinBloqueos": {
+                ListaSimpleConcurrente<Integer> l = new ListaSimpleConcurrente<>();
+                return new Lista() {
+                    public Object buscar(Integer clave) {
+                        return l.buscar(clave);
+                    }
+
+                    public void insertarFrente(Integer clave) {
+                        l.insertarFrente(clave);
+                    }
+
+                    public Object eliminar(Integer clave) {
+                        return l.eliminar(clave);
+                    }
+                };
+            }
+            case "bloqueoFino": {
+                ListaSimpleBloqueoFino<Integer> l = new ListaSimpleBloqueoFino<>();
+                return new Lista() {
+                    public Object buscar(Integer clave) {
+                        return l.buscar(clave);
+                    }
+
+                    public void insertarFrente(Integer clave) {
+                        l.insertarFrente(clave);
+                    }
+
+                    public Object eliminar(Integer clave) {
+                        return l.eliminar(clave);
+                    }
+                };
+            }
+            case "copiaEnEscritura": {
+                ListaCopiaEnEscritura<Integer> l = new ListaCopiaEnEscritura<>();
+                return new Lista() {
+                    public Object buscar(Integer clave) {
+                        return l.buscar(clave);
+                    }
+
+                    public void insertarFrente(Integer clave) {
+                        l.insertarFrente(clave);
+                    }
+
+                    public Object eliminar(Integer clave) {
+                        return l.eliminar(clave);
+                    }
+                };
+            }
+            case "sincronizada": {
+                ListaSimple<Integer> l = new ListaSimple<>();
+                return new Lista() {
+                    public synchronized Object buscar(Integer clave) {
+                        return l.buscar(clave);
+                    }
+
+                    public synchronized void insertarFrente(Integer clave) {
+                        l.insertarFrente(clave);
+                    }
+
+                    public synchronized Object eliminar(Integer clave) {
+                        // Un solo recorrido, igual que las otras variantes.
+                        // "Elemento inexistente" se descarta (ver preparar).
+                        return l.eliminar(clave);
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Implementacion desconocida: " + implementacion);
+        }
+    }
+
+}
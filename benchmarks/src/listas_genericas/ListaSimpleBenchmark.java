@@ -0,0 +1,133 @@
+package listas_genericas;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Operaciones basicas de {@link ListaSimple} y {@link NodoSimple} sobre una
+ * lista de enteros 0..cantidad-1 (el 0 al frente). La insercion, que no
+ * depende de la cantidad, se mide en {@link ListaSimpleInsercionBenchmark}.
+ *
+ * @author Carlos Álvarez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ListaSimpleBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int cantidad;
+
+    private ListaSimple<Integer> lista;
+    private Integer cabeza;
+    private Integer medio;
+    private Integer cola;
+    private Integer ausente;
+    private PrintStream salidaOriginal;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        lista = new ListaSimple<>();
+        Integer[] valores = new Integer[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            valores[i] = i;
+        }
+        lista.insertarTodos(valores);
+        cabeza = valores[0];
+        medio = valores[cantidad / 2];
+        cola = valores[cantidad - 1];
+        ausente = -1;
+
+        salidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restaurar() {
+        System.setOut(salidaOriginal);
+    }
+
+    @Benchmark
+    public NodoSimple buscarCabeza() {
+        return lista.buscar(cabeza);
+    }
+
+    @Benchmark
+    public NodoSimple buscarMedio() {
+        return lista.buscar(medio);
+    }
+
+    @Benchmark
+    public NodoSimple buscarCola() {
+        return lista.buscar(cola);
+    }
+
+    @Benchmark
+    public NodoSimple buscarAusente() {
+        return lista.buscar(ausente);
+    }
+
+    /**
+     * Elimina el primer elemento y lo vuelve a insertar al frente, para que la
+     * lista no cambie entre invocaciones.
+     */
+    @Benchmark
+    public NodoSimple eliminarCabeza() {
+        NodoSimple eliminado = lista.eliminar(cabeza);
+        lista.insertarFrente(eliminado);
+        return eliminado;
+    }
+
+    /**
+     * Elimina el ultimo elemento (peor caso del recorrido) y lo vuelve a
+     * insertar al final.
+     */
+    @Benchmark
+    public NodoSimple eliminarCola() {
+        NodoSimple eliminado = lista.eliminar(cola);
+        lista.insertarFinal(eliminado);
+        return eliminado;
+    }
+
+    @Benchmark
+    public long recorrerConGetSiguiente() {
+        long suma = 0;
+        NodoSimple<Integer> actual = lista.getPrimero();
+        while (actual != null) {
+            suma += actual.getDato();
+            actual = actual.getSiguiente();
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public void recorrerConIterador(Blackhole bh) {
+        for (Integer dato : lista) {
+            bh.consume(dato);
+        }
+    }
+
+    @Benchmark
+    public void mostrar() {
+        lista.mostrar();
+    }
+
+}
@@ -0,0 +1,58 @@
+package listas_genericas;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Insercion al frente y al final de {@link ListaSimple}.
+ *
+ * Cada invocacion inserta un lote fijo en una lista nueva, por lo que la
+ * lista no crece entre invocaciones: si creciera durante toda la iteracion,
+ * el resultado mediría al recolector de basura recorriendo millones de nodos
+ * vivos y no a la insercion. El costo de crear la lista se reparte entre las
+ * {@value #LOTE} inserciones del lote.
+ *
+ * @author Carlos Álvarez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListaSimpleInsercionBenchmark {
+
+    public static final int LOTE = 1000;
+
+    private final Integer elemento = 42;
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public ListaSimple<Integer> insertarFrente() {
+        ListaSimple<Integer> lista = new ListaSimple<>();
+        for (int i = 0; i < LOTE; i++) {
+            lista.insertarFrente(elemento);
+        }
+        return lista;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public ListaSimple<Integer> insertarFinal() {
+        ListaSimple<Integer> lista = new ListaSimple<>();
+        for (int i = 0; i < LOTE; i++) {
+            lista.insertarFinal(elemento);
+        }
+        return lista;
+    }
+
+}
@@ -0,0 +1,79 @@
+package listas_genericas;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara {@link ListaSimple#ordenar()} con la alternativa de copiar los
+ * elementos a un {@code ArrayList}, ordenarlo y reconstruir la lista. Con
+ * {@code -prof gc} se ve ademas la memoria adicional de la copia.
+ *
+ * @author Carlos Álvarez
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class OrdenamientoBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int cantidad;
+
+    @Param({"aleatorio", "ordenado"})
+    public String distribucion;
+
+    private Integer[] valores;
+    private ListaSimple<Integer> lista;
+
+    @Setup(Level.Trial)
+    public void generar() {
+        SplittableRandom azar = new SplittableRandom(7);
+        valores = new Integer[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            valores[i] = distribucion.equals("ordenado") ? i : azar.nextInt();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void preparar() {
+        lista = new ListaSimple<>();
+        lista.insertarTodos(valores);
+    }
+
+    @Benchmark
+    public ListaSimple<Integer> ordenarEnLugar() {
+        lista.ordenar();
+        return lista;
+    }
+
+    @Benchmark
+    public ListaSimple<Integer> copiarYOrdenar() {
+        ArrayList<Integer> copia = new ArrayList<>(lista.tamaño());
+        NodoSimple<Integer> actual = lista.getPrimero();
+        while (actual != null) {
+            copia.add(actual.getDato());
+            actual = actual.getSiguiente();
+        }
+        Collections.sort(copia);
+        ListaSimple<Integer> ordenada = new ListaSimple<>();
+        ordenada.insertarTodos(copia);
+        return ordenada;
+    }
+
+}
@@ -0,0 +1,149 @@
+package listas_genericas;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Compara {@link PersonaStore} con una {@link ListaSimple} de {@link Persona}.
+ *
+ * Los benchmarks {@code construir*} miden el tiempo de crear la estructura
+ * completa. El espacio que ocupa cada estructura no se deduce de los bytes
+ * asignados al construirla (que incluyen temporales, como los arreglos de
+ * {@code getBytes} y los buffers descartados al crecer, y omiten los textos
+ * compartidos con el estado del benchmark): al final de cada prueba se
+ * informa el tamaño retenido de ambas, medido con JOL recorriendo el grafo
+ * de objetos alcanzables. Los benchmarks {@code contarMayores*} miden un
+ * recorrido completo con el filtro de mayoría de edad.
+ *
+ * @author Carlos Álvarez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djdk.attach.allowAttachSelf"})
+@State(Scope.Benchmark)
+public class PersonaStoreBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int cantidad;
+
+    private long[] dnis;
+    private String[] nombres;
+    private String[] domicilios;
+    private int[] dias;
+    private int[] meses;
+    private int[] años;
+
+    private ListaSimple<Persona> lista;
+    private PersonaStore store;
+    private Fecha referencia;
+    private Persona ultimaListaSimple;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom azar = new SplittableRandom(42);
+        dnis = new long[cantidad];
+        nombres = new String[cantidad];
+        domicilios = new String[cantidad];
+        dias = new int[cantidad];
+        meses = new int[cantidad];
+        años = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            dnis[i] = 10_000_000L + i;
+            nombres[i] = "Persona Numero " + i;
+            domicilios[i] = "Calle " + azar.nextInt(1, 5000) + " Nro " + azar.nextInt(1, 3000);
+            dias[i] = azar.nextInt(1, 29);
+            meses[i] = azar.nextInt(1, 13);
+            años[i] = azar.nextInt(1940, 2020);
+        }
+        lista = construirListaSimple();
+        store = construirPersonaStore();
+        referencia = new Fecha(1, 6, 2024);
+        // La lista se construye insertando al frente: su ultimo nodo es el
+        // primer registro, mientras que en el almacen es la ultima fila.
+        ultimaListaSimple = new Persona(dnis[0], null, null, null);
+    }
+
+    /**
+     * Informa el tamaño retenido de cada estructura: todos los objetos
+     * alcanzables desde ella, incluidos los textos, contados una vez.
+     */
+    @TearDown(Level.Trial)
+    public void informarHuella() {
+        long bytesLista = GraphLayout.parseInstance(lista).totalSize();
+        long bytesStore = GraphLayout.parseInstance(store).totalSize();
+        System.out.printf("%nHuella retenida con %d personas: ListaSimple %d bytes (%.1f por persona), "
+                + "PersonaStore %d bytes (%.1f por persona)%n", cantidad,
+                bytesLista, (double) bytesLista / cantidad, bytesStore, (double) bytesStore / cantidad);
+    }
+
+    @Benchmark
+    public ListaSimple<Persona> construirListaSimple() {
+        ListaSimple<Persona> resultado = new ListaSimple<>();
+        for (int i = 0; i < cantidad; i++) {
+            resultado.insertarFrente(new Persona(dnis[i], nombres[i], domicilios[i],
+                    new Fecha(dias[i], meses[i], años[i])));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public PersonaStore construirPersonaStore() {
+        PersonaStore resultado = new PersonaStore(cantidad);
+        Fecha fecha = new Fecha();
+        for (int i = 0; i < cantidad; i++) {
+            fecha.setAño(años[i]);
+            fecha.setMes(meses[i]);
+            fecha.setDia(dias[i]);
+            resultado.insertar(dnis[i], nombres[i], domicilios[i], fecha);
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public int contarMayoresListaSimple() {
+        int limite = Fecha.empaquetar(referencia.getDia(), referencia.getMes(), referencia.getAño() - 18);
+        int mayores = 0;
+        NodoSimple<Persona> actual = lista.getPrimero();
+        while (actual != null) {
+            if (actual.getDato().getFechaNacimiento().empaquetar() <= limite) {
+                mayores++;
+            }
+            actual = actual.getSiguiente();
+        }
+        return mayores;
+    }
+
+    @Benchmark
+    public int contarMayoresPersonaStore() {
+        return store.contarMayoresDe(18, referencia);
+    }
+
+    @Benchmark
+    public int buscarUltimoListaSimple() {
+        return lista.buscar(ultimaListaSimple) == null ? 0 : 1;
+    }
+
+    @Benchmark
+    public int buscarUltimoPersonaStore() {
+        return store.buscar(dnis[cantidad - 1]);
+    }
+
+}
@@ -0,0 +1,64 @@
+package listas_genericas;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ciclos de {@code quitar} + {@code insertarFrente} con y sin reserva de
+ * nodos. Ejecutar con {@code -prof gc}: con la reserva habilitada,
+ * {@code gc.alloc.rate.norm} debe ser 0 bytes por operacion.
+ *
+ * @author Carlos Álvarez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoolNodosBenchmark {
+
+    @Param({"true", "false"})
+    public boolean reciclaje;
+
+    private ListaSimple<Integer> lista;
+    private Integer[] valores;
+    private Integer frente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        lista = new ListaSimple<>();
+        if (reciclaje) {
+            lista.habilitarReciclaje(64);
+        }
+        valores = new Integer[64];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = i;
+            lista.insertarFrente(valores[i]);
+        }
+        frente = valores[valores.length - 1];
+    }
+
+    /**
+     * Quita el elemento del frente y vuelve a insertarlo: el tamaño de la
+     * lista se mantiene y cada ciclo libera y pide un nodo.
+     */
+    @Benchmark
+    public ListaSimple<Integer> quitarEInsertar() {
+        lista.quitar(frente);
+        lista.insertarFrente(frente);
+        return lista;
+    }
+
+}
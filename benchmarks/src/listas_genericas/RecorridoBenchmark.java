@@ -0,0 +1,84 @@
+package listas_genericas;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendimiento de recorrido completo de {@link ListaSimple} (un elemento por
+ * nodo) frente a {@link ListaDesenrollada} con distintas capacidades por
+ * nodo. Los resultados se expresan en elementos por microsegundo.
+ *
+ * Los nodos de la lista simple se crean intercalados con otros objetos para
+ * que, como en un heap real de larga vida, no queden contiguos en memoria.
+ *
+ * @author Carlos Álvarez
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class RecorridoBenchmark {
+
+    public static final int CANTIDAD = 1_000_000;
+
+    @Param({"16", "32", "64"})
+    public int capacidadNodo;
+
+    private ListaSimple<Integer> simple;
+    private ListaDesenrollada<Integer> desenrollada;
+    private Object[] relleno;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        simple = new ListaSimple<>();
+        desenrollada = new ListaDesenrollada<>(capacidadNodo);
+        relleno = new Object[CANTIDAD];
+        for (int i = 0; i < CANTIDAD; i++) {
+            Integer valor = i;
+            simple.insertarFinal(valor);
+            relleno[i] = new long[4];
+            desenrollada.insertarFinal(valor);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CANTIDAD)
+    public long recorrerListaSimple() {
+        long suma = 0;
+        NodoSimple<Integer> actual = simple.getPrimero();
+        while (actual != null) {
+            suma += actual.getDato();
+            actual = actual.getSiguiente();
+        }
+        return suma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CANTIDAD)
+    public long recorrerListaDesenrollada() {
+        long suma = 0;
+        NodoDesenrollado<Integer> actual = desenrollada.getPrimero();
+        while (actual != null) {
+            for (int i = 0; i < actual.getCantidad(); i++) {
+                suma += actual.getElemento(i);
+            }
+            actual = actual.getSiguiente();
+        }
+        return suma;
+    }
+
+}
@@ -0,0 +1,111 @@
+package persistencia;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import listas_genericas.ListaSimple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Carga de una lista de personas desde un snapshot binario, comparada con la
+ * lectura de los mismos datos en CSV (linea por linea y con el importador
+ * paralelo), y apertura de una vista mapeada.
+ *
+ * @author Carlos Álvarez
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    @Param({"1000000"})
+    public int cantidad;
+
+    private Path snapshot;
+    private Path csv;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        ListaSimple<Persona> lista = new ListaSimple<>();
+        Random random = new Random(42);
+        for (int i = 0; i < cantidad; i++) {
+            lista.insertarFinal(new Persona(20000000L + i, "Persona numero " + i,
+                    "Calle falsa " + random.nextInt(10000), Fecha.desdeDiasEpoca(random.nextInt(30000))));
+        }
+
+        snapshot = Files.createTempFile("personas", ".dat");
+        SnapshotPersonas.guardar(lista, snapshot);
+
+        csv = Files.createTempFile("personas", ".csv");
+        try (BufferedWriter salida = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            for (Persona persona : lista) {
+                salida.write(persona.getDni() + "," + persona.getNombreCompleto() + ","
+                        + persona.getDomicilio() + "," + persona.getFechaNacimiento());
+                salida.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() throws IOException {
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public ListaSimple<Persona> cargarSnapshot() throws IOException {
+        ListaSimple<Persona> lista = new ListaSimple<>();
+        SnapshotPersonas.cargar(snapshot, lista);
+        return lista;
+    }
+
+    @Benchmark
+    public ListaSimple<Persona> cargarCsv() throws IOException {
+        ListaSimple<Persona> lista = new ListaSimple<>();
+        try (BufferedReader entrada = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                String[] campos = linea.split(",");
+                lista.insertarFinal(new Persona(Long.parseLong(campos[0]), campos[1], campos[2],
+                        Fecha.parsear(campos[3])));
+            }
+        }
+        return lista;
+    }
+
+    @Benchmark
+    public ListaSimple<Persona> importarCsv() throws IOException {
+        ListaSimple<Persona> lista = new ListaSimple<>();
+        ImportadorCsvPersonas.importar(csv, lista);
+        return lista;
+    }
+
+    @Benchmark
+    public long abrirVista() throws IOException {
+        VistaSnapshotPersonas vista = VistaSnapshotPersonas.abrir(snapshot);
+        return vista.getDni(vista.tamaño() - 1);
+    }
+
+}
@@ -0,0 +1,100 @@
+package utilidades;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Renderizado de tablas completas en un {@code StringBuilder} reutilizado.
+ * Ejecutar con {@code -prof gc}: tanto para filas con atributos primitivos y
+ * cadenas ({@code filasPrimitivas}) como para personas, cuyas fechas se
+ * formatean sin crear objetos, {@code gc.alloc.rate.norm} debe ser 0 bytes por
+ * operacion.
+ *
+ * @author Carlos Álvarez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TablaBenchmark {
+
+    private static final int LIMITE_CARACTERES_LINEA_CONSOLA = 120;
+
+    /**
+     * Fila con los mismos datos que una {@code Persona}, pero con la fecha de
+     * nacimiento empaquetada en un entero.
+     */
+    static class Fila {
+
+        private long dni;
+        private String nombreCompleto;
+        private String domicilio;
+        private int fechaNacimiento;
+
+        Fila(long dni, String nombreCompleto, String domicilio, int fechaNacimiento) {
+            this.dni = dni;
+            this.nombreCompleto = nombreCompleto;
+            this.domicilio = domicilio;
+            this.fechaNacimiento = fechaNacimiento;
+        }
+    }
+
+    @Param({"1000"})
+    public int cantidad;
+
+    private Persona[] personas;
+    private Fila[] filas;
+    private StringBuilder salida;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        personas = new Persona[cantidad];
+        filas = new Fila[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            Fecha fecha = new Fecha(1 + i % 28, 1 + i % 12, 1950 + i % 60);
+            personas[i] = new Persona(20000000L + i, "Persona numero " + i, "Calle falsa " + i, fecha);
+            filas[i] = new Fila(20000000L + i, "Persona numero " + i, "Calle falsa " + i, fecha.empaquetar());
+        }
+        salida = new StringBuilder((cantidad + 1) * (LIMITE_CARACTERES_LINEA_CONSOLA + 1));
+    }
+
+    @Benchmark
+    public StringBuilder filasPrimitivas() {
+        salida.setLength(0);
+        GestorSalidaConsola.escribirTitulosColumnas(Fila.class, LIMITE_CARACTERES_LINEA_CONSOLA, salida);
+        salida.append('\n');
+        for (Fila fila : filas) {
+            GestorSalidaConsola.escribirTabulado(Fila.class, fila, LIMITE_CARACTERES_LINEA_CONSOLA, salida);
+            salida.append('\n');
+        }
+        return salida;
+    }
+
+    @Benchmark
+    public StringBuilder personas() {
+        salida.setLength(0);
+        GestorSalidaConsola.escribirTitulosColumnas(Persona.class, LIMITE_CARACTERES_LINEA_CONSOLA, salida);
+        salida.append('\n');
+        for (Persona persona : personas) {
+            GestorSalidaConsola.escribirTabulado(Persona.class, persona, LIMITE_CARACTERES_LINEA_CONSOLA, salida);
+            salida.append('\n');
+        }
+        return salida;
+    }
+
+}
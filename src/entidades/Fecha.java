@@ -5,10 +5,12 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.Period;
+import java.util.function.IntUnaryOperator;
 
+import utilidades.Formateable;
 import utilidades.GestorEntradaConsola;
 
-public class Fecha implements Comparable {
+public class Fecha implements Comparable, Formateable {
 
     private int dia;
     private int mes;
@@ -17,6 +19,12 @@ public class Fecha implements Comparable {
     // Arreglo que contiene los dias por mes de cada mes.
     private static final int[] DIAS_POR_MES = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
 
+    // Cantidad maxima de digitos del año, el mes y el dia al parsear.
+    private static final int[] MAXIMO_DIGITOS = {6, 2, 2};
+
+    // Dias desde el 0000-03-01 hasta el 1970-01-01.
+    private static final int DIAS_HASTA_EPOCA = 719468;
+
     public Fecha() {
         this.dia = 1;
         this.mes = 1;
@@ -33,16 +41,18 @@ public class Fecha implements Comparable {
         }
     }
 
+    /**
+     * Compara cronologicamente esta fecha con otra usando su forma
+     * empaquetada, que respeta el orden cronologico.
+     *
+     * @param o la fecha con la que se compara.
+     * @return un valor negativo, cero o positivo si esta fecha es anterior,
+     * igual o posterior a la otra.
+     */
     @Override
     public int compareTo(Object o) {
         Fecha otraFecha = (Fecha) o;
-        if (this.año != otraFecha.año) {
-            return this.año - otraFecha.año;
-        } else if (this.mes != otraFecha.mes) {
-            return this.mes - otraFecha.mes;
-        } else {
-            return this.dia - otraFecha.dia;
-        }
+        return this.empaquetar() - otraFecha.empaquetar();
     }
 
     // ******* METODOS DE CARGA DE DATOS POR CONSOLA *******
@@ -173,59 +183,304 @@ public class Fecha implements Comparable {
         return (año % 4 == 0 && año % 100 != 0) || (año % 400 == 0);
     }
 
+    // ******* FORMA EMPAQUETADA *******
+    /**
+     * Empaqueta una fecha en un unico entero con el formato
+     * {@code año << 9 | mes << 5 | dia}. Para años no negativos, el orden de
+     * los enteros coincide con el orden cronologico. No se valida la fecha.
+     *
+     * @param dia el dia del mes, de 1 a 31.
+     * @param mes el mes, de 1 a 12.
+     * @param año el año.
+     * @return la fecha empaquetada.
+     */
+    public static int empaquetar(int dia, int mes, int año) {
+        return (año << 9) | (mes << 5) | dia;
+    }
+
+    /**
+     * Empaqueta esta fecha en un unico entero.
+     *
+     * @return la fecha empaquetada.
+     * @see #empaquetar(int, int, int)
+     */
+    public int empaquetar() {
+        return empaquetar(dia, mes, año);
+    }
+
+    /**
+     * Crea una fecha a partir de su forma empaquetada.
+     *
+     * @param empaquetada una fecha obtenida con {@code empaquetar}.
+     * @return la fecha correspondiente.
+     */
+    public static Fecha desempaquetar(int empaquetada) {
+        return new Fecha(empaquetada & 0x1F, (empaquetada >>> 5) & 0xF, empaquetada >> 9);
+    }
+
+    // ******* DIAS DESDE LA EPOCA *******
+    /**
+     * Convierte una fecha en la cantidad de dias transcurridos desde el
+     * 1970-01-01 (negativa para fechas anteriores), con aritmetica entera y
+     * sin recorrer meses ni años. No se valida la fecha.
+     *
+     * @param dia el dia del mes, de 1 a 31.
+     * @param mes el mes, de 1 a 12.
+     * @param año el año.
+     * @return los dias desde la epoca.
+     */
+    public static int aDiasEpoca(int dia, int mes, int año) {
+        // Se cuentan los años a partir de marzo, para que el 29 de febrero sea
+        // el ultimo dia del año, y se agrupan en eras de 400 años (146097 dias)
+        int a = mes <= 2 ? año - 1 : año;
+        int era = Math.floorDiv(a, 400);
+        int añoDeEra = a - era * 400;
+        int diaDelAño = (153 * (mes > 2 ? mes - 3 : mes + 9) + 2) / 5 + dia - 1;
+        int diaDeEra = añoDeEra * 365 + añoDeEra / 4 - añoDeEra / 100 + diaDelAño;
+        return era * 146097 + diaDeEra - DIAS_HASTA_EPOCA;
+    }
+
+    /**
+     * Crea una fecha a partir de la cantidad de dias transcurridos desde el
+     * 1970-01-01.
+     *
+     * @param diasEpoca los dias desde el 1970-01-01; negativo para fechas
+     * anteriores.
+     * @return la fecha correspondiente.
+     * @see #aDiasEpoca(int, int, int)
+     */
+    public static Fecha desdeDiasEpoca(int diasEpoca) {
+        Fecha fecha = new Fecha();
+        fecha.establecerDiasEpoca(diasEpoca);
+        return fecha;
+    }
+
+    /**
+     * Obtiene la cantidad de dias transcurridos desde el 1970-01-01 hasta esta
+     * fecha.
+     *
+     * @return los dias desde la epoca.
+     */
+    public int getDiasEpoca() {
+        return aDiasEpoca(dia, mes, año);
+    }
+
+    /**
+     * Asigna a esta fecha el dia, mes y año que corresponden a una cantidad de
+     * dias desde la epoca. Es la inversa de {@code aDiasEpoca}.
+     */
+    private void establecerDiasEpoca(int diasEpoca) {
+        int z = diasEpoca + DIAS_HASTA_EPOCA;
+        int era = Math.floorDiv(z, 146097);
+        int diaDeEra = z - era * 146097;
+        int añoDeEra = (diaDeEra - diaDeEra / 1460 + diaDeEra / 36524 - diaDeEra / 146096) / 365;
+        int diaDelAño = diaDeEra - (365 * añoDeEra + añoDeEra / 4 - añoDeEra / 100);
+        int mesDesdeMarzo = (5 * diaDelAño + 2) / 153;
+
+        this.dia = diaDelAño - (153 * mesDesdeMarzo + 2) / 5 + 1;
+        this.mes = mesDesdeMarzo < 10 ? mesDesdeMarzo + 3 : mesDesdeMarzo - 9;
+        this.año = añoDeEra + era * 400 + (this.mes <= 2 ? 1 : 0);
+    }
+
     // ******* CALCULOS DE FECHAS *******
     /**
-     * Método para sumar días a la fecha.
+     * Método para sumar días a la fecha. Se resuelve en tiempo constante
+     * pasando por la forma de dias desde la epoca.
      *
-     * @param dias
+     * @param dias cantidad de dias a sumar. Si es negativa, se restan.
      */
     public void sumarDias(int dias) {
-        while (dias > 0) {
-            int diasRestantesMes = obtenerDiasRestantesDelMes();
-            if (dias > diasRestantesMes) {
-                dias -= diasRestantesMes + 1;
-                avanzarAlProximoMes();
-            } else {
-                this.dia += dias;
-                dias = 0;
-            }
-        }
+        establecerDiasEpoca(getDiasEpoca() + dias);
     }
 
     /**
-     * Obtiene los días restantes en el mes actual
+     * Método para restar días a la fecha, en tiempo constante.
      *
-     * @return los dias restantes.
+     * @param dias cantidad de dias a restar. Si es negativa, se suman.
      */
-    private int obtenerDiasRestantesDelMes() {
-        int diasMaximos = DIAS_POR_MES[this.mes - 1];
-        if (this.mes == 2 && esBisiesto(this.año)) {
-            diasMaximos = 29;
-        }
-        return diasMaximos - this.dia;
+    public void restarDias(int dias) {
+        establecerDiasEpoca(getDiasEpoca() - dias);
     }
 
     /**
-     * Avanzar al próximo mes (maneja cambio de año)
+     * Calcula la cantidad de dias que hay desde esta fecha hasta otra.
+     *
+     * @param otraFecha la fecha hasta la que se cuentan los dias.
+     * @return los dias entre ambas fechas; negativo si la otra fecha es
+     * anterior.
      */
-    private void avanzarAlProximoMes() {
-        if (this.mes == 12) {
-            this.mes = 1;
-            this.año++;
-        } else {
-            this.mes++;
-        }
-        this.dia = 1;
+    public int diasEntre(Fecha otraFecha) {
+        return otraFecha.getDiasEpoca() - this.getDiasEpoca();
     }
-    
+
     /**
-     * Calcula el dia de la semana de una fecha
+     * Calcula el dia de la semana de una fecha a partir de sus dias desde la
+     * epoca (el 1970-01-01 fue jueves), sin crear un {@code LocalDate}.
      *
      * @return el dia de la semana de una fecha.
      */
     public DayOfWeek getDiaSemana() {
-        LocalDate localDate = LocalDate.of(año, mes, dia);
-        return localDate.getDayOfWeek();
+        return DayOfWeek.of(Math.floorMod(getDiasEpoca() + 3, 7) + 1);
+    }
+
+    // ******* FORMATEO Y PARSEO *******
+    /**
+     * Agrega la fecha en formato yyyy-mm-dd (el mismo de
+     * {@code LocalDate.toString()}) al final de {@code destino}, sin crear
+     * objetos intermedios.
+     *
+     * @param destino donde se escribe la fecha.
+     * @return el mismo {@code destino}.
+     */
+    @Override
+    public StringBuilder formatear(StringBuilder destino) {
+        int a = año;
+        if (a < 0) {
+            destino.append('-');
+            a = -a;
+        } else if (a > 9999) {
+            destino.append('+');
+        }
+        agregarDigitos(destino, a, 4);
+        destino.append('-');
+        agregarDigitos(destino, mes, 2);
+        destino.append('-');
+        agregarDigitos(destino, dia, 2);
+        return destino;
+    }
+
+    /**
+     * Escribe la fecha en formato yyyy-mm-dd en un arreglo de caracteres. Para
+     * años entre 0 y 9999 se escriben exactamente 10 caracteres.
+     *
+     * @param destino donde se escribe la fecha.
+     * @param desde la posicion del primer caracter a escribir.
+     * @return la posicion siguiente al ultimo caracter escrito.
+     */
+    public int formatear(char[] destino, int desde) {
+        int i = desde;
+        int a = año;
+        if (a < 0) {
+            destino[i++] = '-';
+            a = -a;
+        } else if (a > 9999) {
+            destino[i++] = '+';
+        }
+        i = escribirDigitos(destino, i, a, 4);
+        destino[i++] = '-';
+        i = escribirDigitos(destino, i, mes, 2);
+        destino[i++] = '-';
+        return escribirDigitos(destino, i, dia, 2);
+    }
+
+    /**
+     * Parsea una fecha en formato yyyy-mm-dd sin lanzar excepciones. El mes y
+     * el dia pueden tener uno o dos digitos, y el año entre uno y seis digitos,
+     * opcionalmente precedidos por '+' como los escribe {@code formatear} para
+     * años mayores a 9999. No se aceptan años negativos.
+     *
+     * @param texto el texto a parsear.
+     * @return la fecha, o {@code null} si el texto no tiene el formato
+     * esperado o la fecha no es valida.
+     */
+    public static Fecha parsear(CharSequence texto) {
+        int empaquetada = parsearEmpaquetada(texto, 0, texto.length());
+        return empaquetada < 0 ? null : desempaquetar(empaquetada);
+    }
+
+    /**
+     * Parsea una fecha en formato yyyy-mm-dd y la devuelve empaquetada, sin
+     * crear objetos.
+     *
+     * @param texto el texto que contiene la fecha.
+     * @param desde la posicion del primer caracter de la fecha.
+     * @param hasta la posicion siguiente al ultimo caracter de la fecha.
+     * @return la fecha empaquetada (ver {@link #empaquetar(int, int, int)}), o
+     * -1 si el texto no tiene el formato esperado o la fecha no es valida.
+     * @see #parsear(CharSequence)
+     */
+    public static int parsearEmpaquetada(CharSequence texto, int desde, int hasta) {
+        return parsearEmpaquetada(texto::charAt, desde, hasta);
+    }
+
+    /**
+     * Parsea una fecha en formato yyyy-mm-dd codificada en ASCII o UTF-8 y la
+     * devuelve empaquetada, sin crear objetos.
+     *
+     * @param texto los bytes que contienen la fecha.
+     * @param desde la posicion del primer byte de la fecha.
+     * @param hasta la posicion siguiente al ultimo byte de la fecha.
+     * @return la fecha empaquetada, o -1 si el texto no tiene el formato
+     * esperado o la fecha no es valida.
+     * @see #parsearEmpaquetada(CharSequence, int, int)
+     */
+    public static int parsearEmpaquetada(byte[] texto, int desde, int hasta) {
+        return parsearEmpaquetada(i -> texto[i], desde, hasta);
+    }
+
+    /**
+     * Parsea una fecha leyendo cada caracter con una funcion, para que las
+     * versiones de texto y de bytes compartan el formato y la validacion.
+     * Un byte que no es ASCII se lee negativo y hace fallar el parseo.
+     *
+     * @param caracter retorna el caracter de una posicion.
+     * @param desde la posicion del primer caracter de la fecha.
+     * @param hasta la posicion siguiente al ultimo caracter de la fecha.
+     * @return la fecha empaquetada, o -1 si no es valida.
+     */
+    private static int parsearEmpaquetada(IntUnaryOperator caracter, int desde, int hasta) {
+        int año = 0;
+        int mes = 0;
+        int dia = 0;
+        int campo = 0;
+        int digitos = 0;
+        int inicio = (desde < hasta && caracter.applyAsInt(desde) == '+') ? desde + 1 : desde;
+        for (int i = inicio; i < hasta; i++) {
+            int c = caracter.applyAsInt(i);
+            if (c == '-' && campo < 2 && digitos > 0) {
+                campo++;
+                digitos = 0;
+            } else if (c >= '0' && c <= '9' && digitos < MAXIMO_DIGITOS[campo]) {
+                digitos++;
+                switch (campo) {
+                    case 0 -> año = año * 10 + (c - '0');
+                    case 1 -> mes = mes * 10 + (c - '0');
+                    default -> dia = dia * 10 + (c - '0');
+                }
+            } else {
+                return -1;
+            }
+        }
+        return (campo == 2 && digitos > 0) ? empaquetarSiEsValida(dia, mes, año) : -1;
+    }
+
+    private static int empaquetarSiEsValida(int dia, int mes, int año) {
+        return esFechaValida(dia, mes, año) ? empaquetar(dia, mes, año) : -1;
+    }
+
+    private static void agregarDigitos(StringBuilder destino, int valor, int minimo) {
+        for (int i = cantidadDigitos(valor); i < minimo; i++) {
+            destino.append('0');
+        }
+        destino.append(valor);
+    }
+
+    private static int escribirDigitos(char[] destino, int desde, int valor, int minimo) {
+        int digitos = Math.max(cantidadDigitos(valor), minimo);
+        for (int i = desde + digitos - 1; i >= desde; i--) {
+            destino[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return desde + digitos;
+    }
+
+    private static int cantidadDigitos(int valor) {
+        int digitos = 1;
+        while (valor >= 10) {
+            valor /= 10;
+            digitos++;
+        }
+        return digitos;
     }
 
     /**
@@ -234,8 +489,7 @@ public class Fecha implements Comparable {
     // ******* toString ********
     @Override
     public String toString() {
-        LocalDate localDate = LocalDate.of(año, mes, dia);
-        return localDate.toString();
+        return formatear(new StringBuilder(10)).toString();
     }
 
     // ******* CONVERSORES A OTROS TIPOS DE GESTORES DE FECHA *******
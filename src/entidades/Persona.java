@@ -51,7 +51,13 @@ public class Persona implements Comparable {
 
     @Override
     public String toString() {
-        return "Persona{" + "dni=" + dni + ", nombreCompleto=" + nombreCompleto + ", domicilio=" + domicilio + ", fechaNacimiento=" + fechaNacimiento.toString() + '}';
+        StringBuilder salida = new StringBuilder(96);
+        salida.append("Persona{dni=").append(dni)
+                .append(", nombreCompleto=").append(nombreCompleto)
+                .append(", domicilio=").append(domicilio)
+                .append(", fechaNacimiento=");
+        fechaNacimiento.formatear(salida);
+        return salida.append('}').toString();
     }
 
     /**
@@ -185,14 +191,29 @@ public class Persona implements Comparable {
     }
 
     /**
-     * Calcula la edad de una persona en base a su año de nacimiento
+     * Calcula la edad actual de la persona.
      *
-     * @return la diferencia entre el año actual y el año de nacimiento de esta
-     * persona
+     * @return los años cumplidos a la fecha de hoy.
+     * @see #calcularEdad(Fecha)
      */
     public int calcularEdad() {
-        Fecha fechaActual = Fecha.fromLocalDate(LocalDate.now());
-        return fechaActual.getAño() - fechaNacimiento.getAño();
+        return calcularEdad(Fecha.fromLocalDate(LocalDate.now()));
+    }
+
+    /**
+     * Calcula la edad exacta de la persona en una fecha de referencia: la
+     * diferencia de años, menos uno si en esa fecha todavia no cumplió años.
+     *
+     * @param referencia la fecha en la que se evalua la edad.
+     * @return los años cumplidos en la fecha de referencia.
+     */
+    public int calcularEdad(Fecha referencia) {
+        int edad = referencia.getAño() - fechaNacimiento.getAño();
+        if (referencia.getMes() < fechaNacimiento.getMes()
+                || (referencia.getMes() == fechaNacimiento.getMes() && referencia.getDia() < fechaNacimiento.getDia())) {
+            edad--;
+        }
+        return edad;
     }
 
     public long getDni() {
@@ -2,6 +2,14 @@ package listas_genericas;
 
 import entidades.Fecha;
 import entidades.Persona;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import persistencia.AlmacenPersonas;
+import persistencia.ImportadorCsvPersonas;
 import utilidades.GestorEntradaConsola;
 import utilidades.GestorSalidaConsola;
 
@@ -13,10 +21,44 @@ import utilidades.GestorSalidaConsola;
 public class AplicacionListasSimples {
 
     private static final int LIMITES_CARACTER_CONSOLA = 120;
-    private ListaSimple<Persona> listaPersonas;
+    private static final Path ARCHIVO_DATOS = Path.of("personas.dat");
+    private ListaPersonas listaPersonas;
+    private AlmacenPersonas almacen;
 
     void inicializar() {
-        listaPersonas = new ListaSimple();
+        listaPersonas = new ListaPersonas();
+    }
+
+    /**
+     * Abre el almacen de {@code ARCHIVO_DATOS} y carga en la lista las
+     * personas guardadas, incluidos los cambios registrados despues del ultimo
+     * snapshot. Si no habia datos guardados, se cargan los casos de prueba.
+     */
+    void cargarDatos() {
+        try {
+            almacen = AlmacenPersonas.abrir(ARCHIVO_DATOS, listaPersonas);
+        } catch (IOException e) {
+            System.err.println("Error al cargar " + ARCHIVO_DATOS + ": " + e.getMessage());
+            return;
+        }
+        if (almacen.esNuevo()) {
+            cargarCasosDePrueba();
+        }
+    }
+
+    /**
+     * Cierra el almacen, compactando en {@code ARCHIVO_DATOS} los cambios
+     * registrados.
+     */
+    void guardarDatos() {
+        if (almacen == null) {
+            return;
+        }
+        try {
+            almacen.close();
+        } catch (IOException e) {
+            System.err.println("Error al guardar " + ARCHIVO_DATOS + ": " + e.getMessage());
+        }
     }
 
     void cargarCasosDePrueba() {
@@ -29,13 +71,13 @@ public class AplicacionListasSimples {
         Persona p6 = new Persona(65432198, "Pedro Garcia", "Guemes 333", new Fecha(8, 4, 1980));
         Persona p7 = new Persona(56789123, "Sofia Ruiz", "Japon 125", new Fecha(20, 10, 2009));
 
-        listaPersonas.insertarFrente(p1);
-        listaPersonas.insertarFrente(p2);
-        listaPersonas.insertarFrente(p3);
-        listaPersonas.insertarFrente(p4);
-        listaPersonas.insertarFrente(p5);
-        listaPersonas.insertarFrente(p6);
-        listaPersonas.insertarFrente(p7);
+        insertar(p1);
+        insertar(p2);
+        insertar(p3);
+        insertar(p4);
+        insertar(p5);
+        insertar(p6);
+        insertar(p7);
     }
 
     void menu() {
@@ -62,6 +104,17 @@ public class AplicacionListasSimples {
                 case 6:
                     listarPersonasMayores18();
                     break;
+                case 7:
+                    listaPersonas.ordenar();
+                    listarTabulado();
+                    break;
+                case 8:
+                    listaPersonas.ordenar((a, b) -> a.getFechaNacimiento().compareTo(b.getFechaNacimiento()));
+                    listarTabulado();
+                    break;
+                case 9:
+                    importarPersonas();
+                    break;
             }
         } while (opcion != 0);
     }
@@ -74,6 +127,9 @@ public class AplicacionListasSimples {
         System.out.println("4. Actualizar persona");
         System.out.println("5. Eliminar persona");
         System.out.println("6. Listar personas con edad mayor o igual a 18");
+        System.out.println("7. Ordenar personas por DNI");
+        System.out.println("8. Ordenar personas por fecha de nacimiento");
+        System.out.println("9. Importar personas desde un archivo CSV");
         System.out.println("0. Salir");
     }
 
@@ -82,7 +138,11 @@ public class AplicacionListasSimples {
         do {
             Persona nuevaPersona = new Persona();
             nuevaPersona.cargarDatos();
-            listaPersonas.insertarFrente(nuevaPersona);
+            try {
+                insertar(nuevaPersona);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Ya existe una persona con ese DNI");
+            }
         } while (GestorEntradaConsola.confirmar());
 
     }
@@ -92,13 +152,7 @@ public class AplicacionListasSimples {
      * enlazada
      */
     void listarTabulado() {
-        GestorSalidaConsola.generarTitulosColumnas(Persona.class, LIMITES_CARACTER_CONSOLA);
-        NodoSimple<Persona> actual = listaPersonas.getPrimero();
-        while (actual != null) {
-
-            GestorSalidaConsola.mostrarTabulado(actual.getDato().getClass(), actual.getDato(), LIMITES_CARACTER_CONSOLA);
-            actual = actual.getSiguiente();
-        }
+        GestorSalidaConsola.imprimirTabla(Persona.class, listaPersonas, LIMITES_CARACTER_CONSOLA, System.out);
     }
 
     /**
@@ -113,6 +167,7 @@ public class AplicacionListasSimples {
         if (nodoBuscado != null) {
 
             nodoBuscado.getDato().actualizarDatos();
+            registrar(() -> almacen.registrarActualizacion(nodoBuscado.getDato()));
 
         } else {
 
@@ -134,6 +189,7 @@ public class AplicacionListasSimples {
 
             if (nodoBuscado != null) {
 
+                registrar(() -> almacen.registrarEliminacion(nodoBuscado.getDato()));
                 System.out.println("La persona: ");
                 GestorSalidaConsola.mostrarTabulado(Persona.class, nodoBuscado.getDato(), LIMITES_CARACTER_CONSOLA);
                 System.out.println("Fue quitada de la lista");
@@ -147,28 +203,272 @@ public class AplicacionListasSimples {
         } while (GestorEntradaConsola.confirmar());
     }
 
+    /**
+     * Pide el nombre de un archivo CSV e importa sus personas.
+     */
+    void importarPersonas() {
+        System.out.print("Archivo CSV (dni,nombre,domicilio,aaaa-mm-dd): ");
+        importarPersonas(Path.of(GestorEntradaConsola.leerString().trim()));
+    }
+
+    /**
+     * Agrega al final de la lista las personas de un archivo CSV. En lugar de
+     * registrar cada insercion, se compacta el almacen y se espera a que el
+     * snapshot incluya las personas importadas, aun si la importacion se
+     * interrumpió por un error de lectura. Si el snapshot no puede escribirse
+     * se informa; el almacen lo vuelve a intentar al cerrarse.
+     *
+     * @param archivo el archivo a importar.
+     */
+    void importarPersonas(Path archivo) {
+        int tamañoAnterior = listaPersonas.tamaño();
+        try {
+            int insertadas = ImportadorCsvPersonas.importar(archivo, listaPersonas);
+            System.out.println("Se importaron " + insertadas + " personas");
+        } catch (IOException e) {
+            System.err.println("Error al importar " + archivo + ": " + e.getMessage());
+        }
+        if (almacen != null && listaPersonas.tamaño() != tamañoAnterior) {
+            try {
+                almacen.compactarYEsperar();
+            } catch (IOException e) {
+                System.err.println("Las personas importadas no se guardaron: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Inserta una persona al frente de la lista y registra el cambio.
+     *
+     * @param persona la persona a insertar.
+     * @throws IllegalArgumentException si ya existe una persona con ese DNI.
+     */
+    private void insertar(Persona persona) {
+        listaPersonas.insertarFrente(persona);
+        registrar(() -> almacen.registrarInsercion(persona));
+    }
+
+    /**
+     * Registra un cambio de la lista en el almacen, si está abierto.
+     */
+    private void registrar(Cambio cambio) {
+        if (almacen == null) {
+            return;
+        }
+        try {
+            cambio.registrar();
+        } catch (IOException e) {
+            System.err.println("Error al registrar el cambio en " + ARCHIVO_DATOS + ": " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Cambio {
+
+        void registrar() throws IOException;
+    }
+
     void listarPersonasMayores18() {
+        listarPersonasMayores(18);
+    }
+
+    void listarPersonasMayores(int edad) {
 
-        NodoSimple<Persona> nodoActual = listaPersonas.getPrimero();
+        Fecha hoy = Fecha.fromLocalDate(LocalDate.now());
+        GestorSalidaConsola.imprimir(listaPersonas.getIndiceFechas()
+                .buscarMayoresDe(edad, hoy)
+                .iterator(), System.out);
+    }
 
-        while (nodoActual != null) {
+    /**
+     * Ejecuta los comandos de la entrada de {@link GestorEntradaConsola}, uno
+     * por linea, sin pedir datos ni confirmaciones. Los campos se separan con
+     * comas:
+     *
+     * <pre>
+     * insertar,dni,nombre,domicilio,aaaa-mm-dd
+     * actualizar,dni,nombre,domicilio   (un campo vacío no se modifica)
+     * eliminar,dni
+     * listar
+     * tabla
+     * mayores[,edad]                    (por defecto, 18)
+     * ordenar[,fecha]                   (por defecto, por DNI)
+     * importar,archivo.csv
+     * </pre>
+     *
+     * Las lineas en blanco y las que comienzan con {@code #} se ignoran. Un
+     * comando invalido se informa por {@code System.err} con su numero de
+     * linea y el lote continua.
+     *
+     * @return la cantidad de comandos con error.
+     */
+    int ejecutarLote() {
+        int errores = 0;
+        long numero = 0;
+        String linea;
+        while ((linea = GestorEntradaConsola.leerLinea()) != null) {
+            numero++;
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+            try {
+                ejecutarComando(linea.split(",", -1));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Linea " + numero + ": " + e.getMessage());
+                errores++;
+            }
+        }
+        return errores;
+    }
 
-            int edad = nodoActual.getDato().calcularEdad();
-            boolean esMayor = edad >= 18;
-            if (esMayor) {
-                System.out.println(nodoActual.getDato().toString());
+    /**
+     * Ejecuta un comando del lote.
+     *
+     * @param campos el nombre del comando seguido de sus argumentos.
+     * @throws IllegalArgumentException si el comando o sus argumentos no son
+     * validos.
+     */
+    private void ejecutarComando(String[] campos) {
+        switch (campos[0].trim().toLowerCase()) {
+            case "insertar": {
+                verificarArgumentos(campos, 5);
+                Persona persona = new Persona();
+                persona.setDni(leerDni(campos[1]));
+                persona.setNombreCompleto(campos[2]);
+                persona.setDomicilio(campos[3]);
+                Fecha fechaNacimiento = Fecha.parsear(campos[4].trim());
+                if (fechaNacimiento == null) {
+                    throw new IllegalArgumentException("Fecha invalida: " + campos[4]);
+                }
+                persona.setFechaNacimiento(fechaNacimiento);
+                insertar(persona);
+                break;
             }
-            nodoActual = nodoActual.getSiguiente();
+            case "actualizar": {
+                verificarArgumentos(campos, 4);
+                Persona persona = buscarPorDni(leerDni(campos[1]));
+                // Ambos campos se validan antes de modificar la persona: si
+                // uno es invalido no queda un cambio a medias sin registrar
+                Persona datos = new Persona();
+                if (!campos[2].isEmpty()) {
+                    datos.setNombreCompleto(campos[2]);
+                }
+                if (!campos[3].isEmpty()) {
+                    datos.setDomicilio(campos[3]);
+                }
+                if (datos.getNombreCompleto() != null) {
+                    persona.setNombreCompleto(datos.getNombreCompleto());
+                }
+                if (datos.getDomicilio() != null) {
+                    persona.setDomicilio(datos.getDomicilio());
+                }
+                registrar(() -> almacen.registrarActualizacion(persona));
+                break;
+            }
+            case "eliminar": {
+                verificarArgumentos(campos, 2);
+                Persona persona = buscarPorDni(leerDni(campos[1]));
+                listaPersonas.eliminar(persona);
+                registrar(() -> almacen.registrarEliminacion(persona));
+                break;
+            }
+            case "listar":
+                listaPersonas.mostrar();
+                break;
+            case "tabla":
+                listarTabulado();
+                break;
+            case "mayores": {
+                int edad = 18;
+                if (campos.length > 1) {
+                    try {
+                        edad = Integer.parseInt(campos[1].trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Edad invalida: " + campos[1]);
+                    }
+                }
+                listarPersonasMayores(edad);
+                break;
+            }
+            case "ordenar":
+                if (campos.length > 1 && campos[1].trim().equalsIgnoreCase("fecha")) {
+                    listaPersonas.ordenar((a, b) -> a.getFechaNacimiento().compareTo(b.getFechaNacimiento()));
+                } else {
+                    listaPersonas.ordenar();
+                }
+                break;
+            case "importar":
+                verificarArgumentos(campos, 2);
+                importarPersonas(Path.of(campos[1].trim()));
+                break;
+            default:
+                throw new IllegalArgumentException("Comando desconocido: " + campos[0]);
+        }
+    }
+
+    private Persona buscarPorDni(long dni) {
+        Persona buscada = new Persona();
+        buscada.setDni(dni);
+        NodoSimple<Persona> nodo = listaPersonas.buscar(buscada);
+        if (nodo == null) {
+            throw new IllegalArgumentException("No existe una persona con DNI " + dni);
+        }
+        return nodo.getDato();
+    }
+
+    private static long leerDni(String campo) {
+        try {
+            return Long.parseLong(campo.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("DNI invalido: " + campo);
         }
+    }
 
+    private static void verificarArgumentos(String[] campos, int cantidad) {
+        if (campos.length != cantidad) {
+            throw new IllegalArgumentException("El comando " + campos[0] + " espera " + (cantidad - 1)
+                    + " argumentos y recibió " + (campos.length - 1));
+        }
     }
 
+    /**
+     * Sin argumentos, muestra el menu interactivo. Con {@code --lote} ejecuta
+     * los comandos del archivo indicado, o de la entrada estándar si no se
+     * indica ninguno (ver {@link #ejecutarLote()}).
+     *
+     * @param args los argumentos de la linea de comandos.
+     */
     public static void main(String[] args) {
 
         AplicacionListasSimples app = new AplicacionListasSimples();
+        if (args.length > 0 && args[0].equals("--lote")) {
+            if (args.length > 1) {
+                try {
+                    GestorEntradaConsola.setEntrada(Files.newBufferedReader(Path.of(args[1]), StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    System.err.println("Error al abrir " + args[1] + ": " + e.getMessage());
+                    System.exit(2);
+                }
+            }
+            app.inicializar();
+            app.cargarDatos();
+            int errores = app.ejecutarLote();
+            app.guardarDatos();
+            if (errores > 0) {
+                System.exit(1);
+            }
+            return;
+        }
+
         app.inicializar();
-        app.cargarCasosDePrueba();
-        app.menu();
+        app.cargarDatos();
+        try {
+            app.menu();
+        } catch (NoSuchElementException e) {
+            // La entrada terminó antes de elegir salir
+        }
+        app.guardarDatos();
     }
 
 }
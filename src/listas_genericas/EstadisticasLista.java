@@ -0,0 +1,203 @@
+package listas_genericas;
+
+import java.util.Arrays;
+
+/**
+ * Estadisticas de uso de una {@link ListaSimple} instrumentada: cantidad de
+ * operaciones, nodos visitados, llamadas a {@code compareTo()} e histograma
+ * de latencias por operacion. Cada operacion medida genera ademas un
+ * {@link EventoOperacionLista} para JDK Flight Recorder.
+ *
+ * El histograma agrupa las latencias en potencias de dos de nanosegundos,
+ * por lo que los percentiles son aproximados: se informa el limite superior
+ * del intervalo que contiene el percentil.
+ *
+ * @author Carlos Álvarez
+ */
+public class EstadisticasLista {
+
+    /**
+     * Operaciones que se registran. Las operaciones por lote
+     * ({@code insertarTodos}, {@code eliminarSi}, {@code eliminarTodos}) se
+     * registran como una sola operacion, cuyos nodos visitados son los nodos
+     * enlazados o recorridos. Las listas que insertan un lote de a un
+     * elemento, como {@link ListaSimpleIndexada}, registran en cambio cada
+     * insercion.
+     */
+    public enum Operacion {
+        INSERTAR, BUSCAR, ELIMINAR, INSERTAR_LOTE, ELIMINAR_LOTE
+    }
+
+    private static final int INTERVALOS = 64;
+
+    private final long[] cantidad = new long[Operacion.values().length];
+    private final long[] nodosVisitados = new long[Operacion.values().length];
+    private final long[] comparaciones = new long[Operacion.values().length];
+    private final long[] nanosegundos = new long[Operacion.values().length];
+    private final long[][] histograma = new long[Operacion.values().length][INTERVALOS];
+
+    /**
+     * Medicion en curso de una operacion. Se obtiene con {@code iniciar} y se
+     * cierra con {@code finalizar}.
+     */
+    public final class Medicion {
+
+        private final Operacion operacion;
+        private final long inicio;
+        private final EventoOperacionLista evento;
+
+        private Medicion(Operacion operacion) {
+            this.operacion = operacion;
+            this.evento = new EventoOperacionLista();
+            this.evento.begin();
+            this.inicio = System.nanoTime();
+        }
+
+        /**
+         * Registra el resultado de la operacion.
+         *
+         * @param visitados cantidad de nodos recorridos.
+         * @param comparados cantidad de llamadas a {@code compareTo()}.
+         * @param longitudLista tamaño de la lista al terminar la operacion.
+         */
+        public void finalizar(int visitados, int comparados, int longitudLista) {
+            registrar(operacion, visitados, comparados, System.nanoTime() - inicio);
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.operacion = operacion.name();
+                evento.nodosVisitados = visitados;
+                evento.comparaciones = comparados;
+                evento.longitudLista = longitudLista;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Comienza a medir una operacion.
+     *
+     * @param operacion la operacion medida.
+     * @return la medicion, que debe finalizarse al terminar la operacion.
+     */
+    public Medicion iniciar(Operacion operacion) {
+        return new Medicion(operacion);
+    }
+
+    /**
+     * Registra una operacion ya medida.
+     *
+     * @param operacion la operacion realizada.
+     * @param visitados cantidad de nodos recorridos.
+     * @param comparados cantidad de llamadas a {@code compareTo()}.
+     * @param duracion duracion en nanosegundos.
+     */
+    public void registrar(Operacion operacion, int visitados, int comparados, long duracion) {
+        int i = operacion.ordinal();
+        cantidad[i]++;
+        nodosVisitados[i] += visitados;
+        comparaciones[i] += comparados;
+        nanosegundos[i] += duracion;
+        histograma[i][intervalo(duracion)]++;
+    }
+
+    public long getCantidad(Operacion operacion) {
+        return cantidad[operacion.ordinal()];
+    }
+
+    public long getNodosVisitados(Operacion operacion) {
+        return nodosVisitados[operacion.ordinal()];
+    }
+
+    public long getComparaciones(Operacion operacion) {
+        return comparaciones[operacion.ordinal()];
+    }
+
+    /**
+     * Retorna el promedio de nodos visitados por operacion.
+     *
+     * @param operacion la operacion cuyos nodos visitados se promedian.
+     * @return el promedio, o 0 si no hubo operaciones.
+     */
+    public double getPromedioNodosVisitados(Operacion operacion) {
+        long n = getCantidad(operacion);
+        return n == 0 ? 0 : (double) getNodosVisitados(operacion) / n;
+    }
+
+    /**
+     * Retorna la latencia promedio de una operacion.
+     *
+     * @param operacion la operacion cuya latencia se promedia.
+     * @return el promedio en nanosegundos, o 0 si no hubo operaciones.
+     */
+    public double getLatenciaPromedio(Operacion operacion) {
+        long n = getCantidad(operacion);
+        return n == 0 ? 0 : (double) nanosegundos[operacion.ordinal()] / n;
+    }
+
+    /**
+     * Retorna una cota superior del percentil de latencia indicado.
+     *
+     * @param operacion la operacion cuyas latencias se consultan.
+     * @param percentil valor entre 0 y 100.
+     * @return la cota en nanosegundos, o 0 si no hubo operaciones.
+     */
+    public long getPercentilLatencia(Operacion operacion, double percentil) {
+        long n = getCantidad(operacion);
+        if (n == 0) {
+            return 0;
+        }
+        long objetivo = (long) Math.ceil(n * percentil / 100.0);
+        long acumulado = 0;
+        long[] intervalos = histograma[operacion.ordinal()];
+        for (int i = 0; i < INTERVALOS; i++) {
+            acumulado += intervalos[i];
+            if (acumulado >= objetivo && acumulado > 0) {
+                return i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Retorna una copia del histograma de latencias: la posicion {@code i}
+     * cuenta las operaciones que duraron entre 2^(i-1) y 2^i - 1
+     * nanosegundos.
+     *
+     * @param operacion la operacion cuyo histograma se copia.
+     * @return el histograma.
+     */
+    public long[] getHistogramaLatencias(Operacion operacion) {
+        return histograma[operacion.ordinal()].clone();
+    }
+
+    /**
+     * Pone todos los contadores en cero.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < cantidad.length; i++) {
+            cantidad[i] = 0;
+            nodosVisitados[i] = 0;
+            comparaciones[i] = 0;
+            nanosegundos[i] = 0;
+            Arrays.fill(histograma[i], 0);
+        }
+    }
+
+    private static int intervalo(long duracion) {
+        return duracion <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(duracion);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("EstadisticasLista{");
+        for (Operacion operacion : Operacion.values()) {
+            sb.append(operacion).append("={cantidad=").append(getCantidad(operacion))
+                    .append(", nodosVisitados=").append(getNodosVisitados(operacion))
+                    .append(", comparaciones=").append(getComparaciones(operacion))
+                    .append(", latenciaPromedio=").append((long) getLatenciaPromedio(operacion))
+                    .append("ns, p99=").append(getPercentilLatencia(operacion, 99)).append("ns} ");
+        }
+        return sb.append('}').toString();
+    }
+
+}
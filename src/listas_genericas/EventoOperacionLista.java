@@ -0,0 +1,34 @@
+package listas_genericas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JDK Flight Recorder que registra una operacion sobre una lista
+ * instrumentada. Solo se crea cuando la instrumentacion de la lista está
+ * habilitada, y solo se graba si el evento está activo en la grabacion.
+ *
+ * @author Carlos Álvarez
+ */
+@Name("listas_genericas.OperacionLista")
+@Label("Operacion de Lista")
+@Category("Listas Genericas")
+@Description("Operacion de busqueda, eliminacion o insercion, individual o por lote, sobre una ListaSimple instrumentada")
+class EventoOperacionLista extends Event {
+
+    @Label("Operacion")
+    String operacion;
+
+    @Label("Nodos Visitados")
+    int nodosVisitados;
+
+    @Label("Comparaciones")
+    int comparaciones;
+
+    @Label("Longitud de la Lista")
+    int longitudLista;
+
+}
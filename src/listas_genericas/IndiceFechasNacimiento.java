@@ -0,0 +1,190 @@
+package listas_genericas;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Indice secundario de personas ordenado por fecha de nacimiento.
+ *
+ * Las entradas se guardan en una {@link ListaSalteada} ordenadas por fecha
+ * empaquetada y, ante fechas iguales, por DNI. Como tener al menos {@code N}
+ * años en una fecha de referencia equivale a haber nacido en o antes de una
+ * fecha limite, las consultas por edad se resuelven con un conteo por
+ * posicion en O(log n) y un recorrido de los k resultados, sin calcular la
+ * edad de cada persona.
+ *
+ * La fecha de nacimiento y el DNI de una persona no deben modificarse
+ * mientras esté en el indice.
+ *
+ * @author Carlos Álvarez
+ */
+public class IndiceFechasNacimiento {
+
+    private ListaSalteada<Entrada> entradas;
+
+    public IndiceFechasNacimiento() {
+        this.entradas = new ListaSalteada<>();
+    }
+
+    /**
+     * Agrega una persona al indice.
+     *
+     * @param persona la persona a agregar.
+     */
+    public void insertar(Persona persona) {
+        entradas.insertar(new Entrada(persona.getFechaNacimiento().empaquetar(), persona.getDni(), persona));
+    }
+
+    /**
+     * Quita una persona del indice.
+     *
+     * @param persona la persona a quitar; se identifica por su fecha de
+     * nacimiento y su DNI.
+     * @return verdadero si la persona estaba en el indice.
+     */
+    public boolean eliminar(Persona persona) {
+        Entrada clave = new Entrada(persona.getFechaNacimiento().empaquetar(), persona.getDni(), null);
+        // Se verifica antes para no mostrar los mensajes de ListaSalteada.eliminar
+        if (entradas.buscar(clave) == null) {
+            return false;
+        }
+        entradas.eliminar(clave);
+        return true;
+    }
+
+    /**
+     * Quita todas las personas del indice.
+     */
+    public void vaciar() {
+        entradas = new ListaSalteada<>();
+    }
+
+    /**
+     * Cuenta las personas que tienen al menos la edad indicada en la fecha de
+     * referencia, en O(log n).
+     *
+     * @param edad edad minima.
+     * @param referencia fecha en la que se evalua la edad.
+     * @return la cantidad de personas que cumplen la condicion.
+     */
+    public int contarMayoresDe(int edad, Fecha referencia) {
+        return entradas.contarMenoresOIguales(ultimaEntrada(fechaLimite(edad, referencia)));
+    }
+
+    /**
+     * Obtiene las personas que tienen al menos la edad indicada en la fecha de
+     * referencia, de la mayor a la menor edad.
+     *
+     * @param edad edad minima.
+     * @param referencia fecha en la que se evalua la edad.
+     * @return las personas que cumplen la condicion.
+     */
+    public List<Persona> buscarMayoresDe(int edad, Fecha referencia) {
+        int limite = fechaLimite(edad, referencia);
+        List<Persona> resultado = new ArrayList<>(contarMayoresDe(edad, referencia));
+        for (Entrada entrada : entradas) {
+            if (entrada.fecha > limite) {
+                break;
+            }
+            resultado.add(entrada.persona);
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta las personas cuya edad en la fecha de referencia está entre dos
+     * valores, ambos incluidos, en O(log n).
+     *
+     * @param edadMinima la menor edad, en años cumplidos.
+     * @param edadMaxima la mayor edad, en años cumplidos.
+     * @param referencia fecha en la que se evalua la edad.
+     * @return la cantidad de personas en el rango de edades.
+     */
+    public int contarEntreEdades(int edadMinima, int edadMaxima, Fecha referencia) {
+        if (edadMinima > edadMaxima) {
+            return 0;
+        }
+        return entradas.contarMenoresOIguales(ultimaEntrada(fechaLimite(edadMinima, referencia)))
+                - entradas.contarMenoresOIguales(ultimaEntrada(fechaLimite(edadMaxima + 1, referencia)));
+    }
+
+    /**
+     * Obtiene las personas cuya edad en la fecha de referencia está entre dos
+     * valores, ambos incluidos, de la mayor a la menor edad. El primer
+     * resultado se localiza en O(log n).
+     *
+     * @param edadMinima la menor edad, en años cumplidos.
+     * @param edadMaxima la mayor edad, en años cumplidos.
+     * @param referencia fecha en la que se evalua la edad.
+     * @return las personas en el rango de edades.
+     */
+    public List<Persona> buscarEntreEdades(int edadMinima, int edadMaxima, Fecha referencia) {
+        List<Persona> resultado = new ArrayList<>(contarEntreEdades(edadMinima, edadMaxima, referencia));
+        if (edadMinima > edadMaxima) {
+            return resultado;
+        }
+        int limite = fechaLimite(edadMinima, referencia);
+        // Quienes nacieron despues de esta fecha todavia no tienen edadMaxima + 1
+        Iterator<Entrada> it = entradas.iteradorDesde(ultimaEntrada(fechaLimite(edadMaxima + 1, referencia)));
+        while (it.hasNext()) {
+            Entrada entrada = it.next();
+            if (entrada.fecha > limite) {
+                break;
+            }
+            resultado.add(entrada.persona);
+        }
+        return resultado;
+    }
+
+    public int tamaño() {
+        return entradas.tamaño();
+    }
+
+    /**
+     * Calcula la mayor fecha de nacimiento empaquetada con la que se tiene al
+     * menos {@code edad} años en la fecha de referencia. El resultado puede no
+     * ser una fecha valida (29 de febrero de un año no bisiesto), pero sirve
+     * igual como cota porque el empaquetado respeta el orden cronologico.
+     */
+    private static int fechaLimite(int edad, Fecha referencia) {
+        return Fecha.empaquetar(referencia.getDia(), referencia.getMes(), referencia.getAño() - edad);
+    }
+
+    /**
+     * Retorna una clave de busqueda mayor que cualquier entrada con la fecha
+     * indicada y menor que las entradas con fechas posteriores.
+     */
+    private static Entrada ultimaEntrada(int fecha) {
+        return new Entrada(fecha, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Entrada del indice: la fecha de nacimiento empaquetada, el DNI que
+     * desempata fechas iguales y la persona.
+     */
+    private static final class Entrada implements Comparable {
+
+        private final int fecha;
+        private final long dni;
+        private final Persona persona;
+
+        Entrada(int fecha, long dni, Persona persona) {
+            this.fecha = fecha;
+            this.dni = dni;
+            this.persona = persona;
+        }
+
+        @Override
+        public int compareTo(Object o) {
+            Entrada otra = (Entrada) o;
+            if (fecha != otra.fecha) {
+                return Integer.compare(fecha, otra.fecha);
+            }
+            return Long.compare(dni, otra.dni);
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package listas_genericas;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lista segura para varios hilos que publica versiones de una
+ * {@link ListaPersistente}.
+ *
+ * Cada modificacion construye una version nueva a partir de la vigente y la
+ * publica con un compare-and-set; si otro hilo publicó antes, se reintenta
+ * sobre la version de ese hilo. Las lecturas toman la version vigente con
+ * {@link #instantanea()} y la recorren sin bloqueos ni reintentos: ven un
+ * estado consistente de la lista aunque los escritores sigan publicando.
+ *
+ * Conviene cuando las lecturas (y sobre todo los recorridos completos, como
+ * los reportes) predominan sobre las escrituras: {@code insertarFrente} es
+ * de tiempo constante, pero {@code eliminar} copia los nodos anteriores al
+ * eliminado e {@code insertarFinal} la lista completa, y con muchos
+ * escritores simultaneos esa copia puede repetirse en cada reintento.
+ *
+ * @param <T> el tipo de dato almacenado. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class ListaCopiaEnEscritura<T extends Comparable> implements Iterable<T> {
+
+    private final AtomicReference<ListaPersistente<T>> vigente;
+
+    public ListaCopiaEnEscritura() {
+        this(ListaPersistente.vacia());
+    }
+
+    /**
+     * Crea una lista cuya primera version es la proporcionada.
+     *
+     * @param inicial la version inicial.
+     */
+    public ListaCopiaEnEscritura(ListaPersistente<T> inicial) {
+        this.vigente = new AtomicReference<>(inicial);
+    }
+
+    /**
+     * Inserta un elemento al frente de la lista.
+     *
+     * @param elemento el elemento a insertar.
+     * @return la version publicada que contiene al elemento.
+     */
+    public ListaPersistente<T> insertarFrente(Comparable elemento) {
+        ListaPersistente<T> actual;
+        ListaPersistente<T> nueva;
+        do {
+            actual = vigente.get();
+            nueva = actual.insertarFrente(elemento);
+        } while (!vigente.compareAndSet(actual, nueva));
+        return nueva;
+    }
+
+    /**
+     * Inserta un elemento al final de la lista.
+     *
+     * @param elemento el elemento a insertar.
+     * @return la version publicada que contiene al elemento.
+     */
+    public ListaPersistente<T> insertarFinal(Comparable elemento) {
+        ListaPersistente<T> actual;
+        ListaPersistente<T> nueva;
+        do {
+            actual = vigente.get();
+            nueva = actual.insertarFinal(elemento);
+        } while (!vigente.compareAndSet(actual, nueva));
+        return nueva;
+    }
+
+    /**
+     * Busca en la version vigente un nodo cuyo dato sea igual al
+     * proporcionado segun {@code compareTo()}.
+     *
+     * @param buscado el elemento a buscar.
+     * @return el nodo que contiene el elemento buscado, o {@code null} si no se
+     * encuentra.
+     */
+    public NodoPersistente<T> buscar(Comparable buscado) {
+        return vigente.get().buscar(buscado);
+    }
+
+    /**
+     * Elimina el primer elemento igual al proporcionado segun
+     * {@code compareTo()}.
+     *
+     * @param e el dato a buscar y comparar para determinar el nodo a eliminar.
+     * @return el elemento eliminado, o {@code null} si no existe.
+     */
+    public T eliminar(Comparable e) {
+        while (true) {
+            ListaPersistente<T> actual = vigente.get();
+            NodoPersistente<T> nodo = actual.buscar(e);
+            if (nodo == null) {
+                return null;
+            }
+            if (vigente.compareAndSet(actual, actual.eliminar(nodo))) {
+                return nodo.getDato();
+            }
+        }
+    }
+
+    /**
+     * Retorna la version vigente de la lista. Puede recorrerse desde
+     * cualquier hilo sin sincronizacion y no refleja las modificaciones
+     * posteriores.
+     *
+     * @return la version vigente.
+     */
+    public ListaPersistente<T> instantanea() {
+        return vigente.get();
+    }
+
+    public int tamaño() {
+        return vigente.get().tamaño();
+    }
+
+    public boolean estaVacia() {
+        return vigente.get().estaVacia();
+    }
+
+    /**
+     * Retorna un iterador sobre la version vigente al momento de llamarlo.
+     *
+     * @return un iterador sobre los datos de la instantanea.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return instantanea().iterator();
+    }
+
+}
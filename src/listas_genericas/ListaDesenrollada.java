@@ -0,0 +1,244 @@
+package listas_genericas;
+
+/**
+ * Lista enlazada desenrollada: cada nodo guarda hasta {@code capacidadNodo}
+ * elementos consecutivos en un arreglo.
+ *
+ * Ofrece las mismas operaciones que {@link ListaSimple}, pero los recorridos
+ * leen los elementos de a bloques y siguen un enlace cada
+ * {@code capacidadNodo} elementos en lugar de uno por elemento. Cuando una
+ * insercion encuentra un nodo lleno, este se divide en dos mitades; cuando una
+ * eliminacion deja un nodo por debajo de la mitad de su capacidad, se fusiona
+ * con el siguiente o toma elementos de él. Asi cada nodo, salvo el ultimo,
+ * mantiene al menos la mitad de su capacidad ocupada.
+ *
+ * @param <T> el tipo de dato almacenado. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class ListaDesenrollada<T extends Comparable> {
+
+    public static final int CAPACIDAD_NODO_POR_DEFECTO = 32;
+
+    private final int capacidadNodo;
+    private NodoDesenrollado<T> primero;
+    private NodoDesenrollado<T> ultimo;
+    private int tamaño;
+
+    public ListaDesenrollada() {
+        this(CAPACIDAD_NODO_POR_DEFECTO);
+    }
+
+    /**
+     * Crea una lista vacía.
+     *
+     * @param capacidadNodo cantidad maxima de elementos por nodo. Debe ser al
+     * menos 2.
+     */
+    public ListaDesenrollada(int capacidadNodo) {
+        if (capacidadNodo < 2) {
+            throw new IllegalArgumentException("La capacidad por nodo debe ser al menos 2.");
+        }
+        this.capacidadNodo = capacidadNodo;
+        this.primero = null;
+        this.ultimo = null;
+        this.tamaño = 0;
+    }
+
+    /**
+     * Inserta un elemento al frente de la lista. Si el primer nodo está lleno
+     * se divide antes de insertar.
+     *
+     * @param elemento el elemento a insertar al frente.
+     */
+    public void insertarFrente(Comparable elemento) {
+        if (primero == null) {
+            primero = ultimo = new NodoDesenrollado<>(capacidadNodo);
+        }
+        if (primero.estaLleno()) {
+            dividir(primero);
+        }
+        primero.insertar(0, elemento);
+        tamaño++;
+    }
+
+    /**
+     * Inserta un elemento al final de la lista. Si el ultimo nodo está lleno
+     * se agrega uno nuevo.
+     *
+     * @param elemento el elemento a insertar al final.
+     */
+    public void insertarFinal(Comparable elemento) {
+        if (ultimo == null) {
+            primero = ultimo = new NodoDesenrollado<>(capacidadNodo);
+        } else if (ultimo.estaLleno()) {
+            NodoDesenrollado<T> nuevo = new NodoDesenrollado<>(capacidadNodo);
+            ultimo.setSiguiente(nuevo);
+            ultimo = nuevo;
+        }
+        ultimo.agregar(elemento);
+        tamaño++;
+    }
+
+    /**
+     * Inserta un elemento en la posicion indicada. Si el nodo que corresponde
+     * a esa posicion está lleno, se divide antes de insertar.
+     *
+     * @param indice posicion entre 0 y {@code tamaño()}.
+     * @param elemento el elemento a insertar.
+     */
+    public void insertar(int indice, Comparable elemento) {
+        if (indice < 0 || indice > tamaño) {
+            throw new IndexOutOfBoundsException("Posicion invalida: " + indice);
+        }
+        if (indice == tamaño) {
+            insertarFinal(elemento);
+            return;
+        }
+        NodoDesenrollado<T> nodo = primero;
+        while (indice > nodo.getCantidad()) {
+            indice -= nodo.getCantidad();
+            nodo = nodo.getSiguiente();
+        }
+        if (nodo.estaLleno()) {
+            dividir(nodo);
+            if (indice > nodo.getCantidad()) {
+                indice -= nodo.getCantidad();
+                nodo = nodo.getSiguiente();
+            }
+        }
+        nodo.insertar(indice, elemento);
+        tamaño++;
+    }
+
+    /**
+     * Muestra los elementos de la lista. Los elementos deben tener implementado
+     * el metodo toString.
+     */
+    public void mostrar() {
+        NodoDesenrollado<T> p = primero;
+        while (p != null) {
+            for (int i = 0; i < p.getCantidad(); i++) {
+                System.out.println(p.getElemento(i).toString());
+            }
+            p = p.getSiguiente();
+        }
+    }
+
+    /**
+     * Busca un elemento comparando con {@code compareTo()}.
+     *
+     * @param buscado el elemento a buscar.
+     * @return el elemento almacenado igual al buscado, o {@code null} si no se
+     * encuentra.
+     */
+    public T buscar(Comparable buscado) {
+        NodoDesenrollado<T> p = primero;
+        while (p != null) {
+            for (int i = 0; i < p.getCantidad(); i++) {
+                if (buscado.compareTo(p.getElemento(i)) == 0) {
+                    return p.getElemento(i);
+                }
+            }
+            p = p.getSiguiente();
+        }
+        return null;
+    }
+
+    /**
+     * Elimina el primer elemento igual al proporcionado segun
+     * {@code compareTo()}. Si el nodo queda por debajo de la mitad de su
+     * capacidad, se fusiona con el siguiente o toma elementos de él.
+     *
+     * @param e el dato a buscar y comparar para determinar el elemento a
+     * eliminar.
+     * @return el elemento eliminado si se encuentra, o {@code null} si no
+     * existe o la lista está vacía.
+     */
+    public T eliminar(Comparable e) {
+
+        if (primero == null) {
+            System.out.println("Lista vacia!");
+            return null;
+        }
+
+        NodoDesenrollado<T> anterior = null;
+        NodoDesenrollado<T> actual = primero;
+        while (actual != null) {
+            for (int i = 0; i < actual.getCantidad(); i++) {
+                if (e.compareTo(actual.getElemento(i)) == 0) {
+                    T eliminado = actual.quitar(i);
+                    tamaño--;
+                    equilibrar(anterior, actual);
+                    return eliminado;
+                }
+            }
+            anterior = actual;
+            actual = actual.getSiguiente();
+        }
+
+        System.out.println("Elemento inexistente");
+        return null;
+    }
+
+    public int tamaño() {
+        return tamaño;
+    }
+
+    public boolean estaVacia() {
+        return tamaño == 0;
+    }
+
+    public int getCapacidadNodo() {
+        return capacidadNodo;
+    }
+
+    public NodoDesenrollado<T> getPrimero() {
+        return primero;
+    }
+
+    /**
+     * Divide un nodo lleno moviendo la segunda mitad de sus elementos a un
+     * nodo nuevo enlazado a continuacion.
+     */
+    private void dividir(NodoDesenrollado<T> nodo) {
+        NodoDesenrollado<T> nuevo = new NodoDesenrollado<>(capacidadNodo);
+        nodo.moverCola(nodo.getCantidad() / 2, nuevo);
+        nuevo.setSiguiente(nodo.getSiguiente());
+        nodo.setSiguiente(nuevo);
+        if (nodo == ultimo) {
+            ultimo = nuevo;
+        }
+    }
+
+    /**
+     * Restablece la ocupacion minima de un nodo despues de una eliminacion.
+     * Si el nodo y su siguiente caben en uno solo se fusionan; si no, el nodo
+     * toma elementos del siguiente. Un nodo vacío sin siguiente se quita.
+     */
+    private void equilibrar(NodoDesenrollado<T> anterior, NodoDesenrollado<T> nodo) {
+        int minimo = capacidadNodo / 2;
+        if (nodo.getCantidad() >= minimo) {
+            return;
+        }
+        NodoDesenrollado<T> siguiente = nodo.getSiguiente();
+        if (siguiente != null) {
+            if (nodo.getCantidad() + siguiente.getCantidad() <= capacidadNodo) {
+                siguiente.moverCola(0, nodo);
+                nodo.setSiguiente(siguiente.getSiguiente());
+                if (siguiente == ultimo) {
+                    ultimo = nodo;
+                }
+            } else {
+                nodo.tomarCabeza(siguiente, minimo - nodo.getCantidad());
+            }
+        } else if (nodo.getCantidad() == 0) {
+            if (anterior == null) {
+                primero = null;
+            } else {
+                anterior.setSiguiente(null);
+            }
+            ultimo = anterior;
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+package listas_genericas;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lista simple enlazada persistente: inmutable, con nodos compartidos entre
+ * versiones.
+ *
+ * Las operaciones que modifican no alteran la lista sino que retornan una
+ * version nueva. {@code insertarFrente} crea un solo nodo y comparte toda la
+ * cadena anterior; {@code eliminar} copia solo los nodos que preceden al
+ * eliminado (copia del camino) y comparte los que lo siguen;
+ * {@code insertarFinal} debe copiar la lista completa. Las versiones
+ * anteriores siguen siendo validas, por lo que cualquier hilo que tenga una
+ * referencia puede recorrerla sin sincronizacion y sin ver cambios
+ * posteriores.
+ *
+ * Como {@link ListaSimpleConcurrente}, las operaciones no informan por
+ * consola cuando un elemento no existe.
+ *
+ * @param <T> el tipo de dato almacenado. Debe ser comparable.
+ * @author Carlos Álvarez
+ * @see ListaCopiaEnEscritura
+ */
+public final class ListaPersistente<T extends Comparable> implements Iterable<T> {
+
+    private static final ListaPersistente VACIA = new ListaPersistente<>(null, 0);
+
+    private final NodoPersistente<T> primero;
+    private final int tamaño;
+
+    private ListaPersistente(NodoPersistente<T> primero, int tamaño) {
+        this.primero = primero;
+        this.tamaño = tamaño;
+    }
+
+    /**
+     * Retorna la lista vacía.
+     *
+     * @param <T> el tipo de dato almacenado.
+     * @return la lista vacía, compartida por todos los tipos.
+     */
+    public static <T extends Comparable> ListaPersistente<T> vacia() {
+        return VACIA;
+    }
+
+    /**
+     * Crea una lista con los elementos proporcionados, en el mismo orden.
+     *
+     * @param <T> el tipo de dato almacenado.
+     * @param elementos los elementos, por ejemplo una {@link ListaSimple}.
+     * @return la lista creada.
+     */
+    public static <T extends Comparable> ListaPersistente<T> desde(Iterable<? extends T> elementos) {
+        ArrayList<T> copia = new ArrayList<>();
+        for (T elemento : elementos) {
+            copia.add(elemento);
+        }
+        // Los nodos son inmutables: la cadena se arma desde el final
+        NodoPersistente<T> primero = null;
+        for (int i = copia.size() - 1; i >= 0; i--) {
+            primero = new NodoPersistente<>(copia.get(i), primero);
+        }
+        return new ListaPersistente<>(primero, copia.size());
+    }
+
+    /**
+     * Retorna una version de la lista con un elemento al frente. La lista
+     * actual se comparte completa: tiempo y memoria constantes.
+     *
+     * @param elemento el elemento a insertar.
+     * @return la nueva version de la lista.
+     */
+    public ListaPersistente<T> insertarFrente(Comparable elemento) {
+        return new ListaPersistente<>(new NodoPersistente<>((T) elemento, primero), tamaño + 1);
+    }
+
+    /**
+     * Retorna una version de la lista con un elemento al final. Todos los
+     * nodos deben copiarse, porque cambia el enlace del ultimo.
+     *
+     * @param elemento el elemento a insertar.
+     * @return la nueva version de la lista.
+     */
+    public ListaPersistente<T> insertarFinal(Comparable elemento) {
+        return new ListaPersistente<>(copiarHasta(null, new NodoPersistente<>((T) elemento, null)), tamaño + 1);
+    }
+
+    /**
+     * Busca un nodo cuyo dato sea igual al proporcionado segun
+     * {@code compareTo()}.
+     *
+     * @param buscado el elemento a buscar.
+     * @return el nodo que contiene el elemento buscado, o {@code null} si no se
+     * encuentra.
+     */
+    public NodoPersistente<T> buscar(Comparable buscado) {
+        NodoPersistente<T> actual = primero;
+        while (actual != null && buscado.compareTo(actual.getDato()) != 0) {
+            actual = actual.getSiguiente();
+        }
+        return actual;
+    }
+
+    /**
+     * Retorna una version de la lista sin el primer nodo cuyo dato sea igual
+     * al proporcionado segun {@code compareTo()}. Se copian los nodos
+     * anteriores a él y se comparten los siguientes.
+     *
+     * @param e el dato a buscar y comparar para determinar el nodo a eliminar.
+     * @return la nueva version de la lista, o esta misma lista si el elemento
+     * no existe.
+     */
+    public ListaPersistente<T> eliminar(Comparable e) {
+        NodoPersistente<T> nodo = buscar(e);
+        return nodo == null ? this : eliminar(nodo);
+    }
+
+    /**
+     * Retorna una version de la lista sin un nodo que pertenece a ella.
+     *
+     * @param nodo un nodo obtenido de esta version, por ejemplo con
+     * {@code buscar}.
+     * @return la nueva version de la lista.
+     */
+    ListaPersistente<T> eliminar(NodoPersistente<T> nodo) {
+        return new ListaPersistente<>(copiarHasta(nodo, nodo.getSiguiente()), tamaño - 1);
+    }
+
+    /**
+     * Copia los nodos desde el primero hasta {@code limite} (excluido) y
+     * engancha la copia a {@code resto}.
+     *
+     * @return el primer nodo de la cadena resultante.
+     */
+    private NodoPersistente<T> copiarHasta(NodoPersistente<T> limite, NodoPersistente<T> resto) {
+        ArrayList<T> prefijo = new ArrayList<>();
+        for (NodoPersistente<T> actual = primero; actual != limite; actual = actual.getSiguiente()) {
+            prefijo.add(actual.getDato());
+        }
+        NodoPersistente<T> cadena = resto;
+        for (int i = prefijo.size() - 1; i >= 0; i--) {
+            cadena = new NodoPersistente<>(prefijo.get(i), cadena);
+        }
+        return cadena;
+    }
+
+    /**
+     * Muestra los elementos de la lista. Los elementos deben tener implementado
+     * el metodo toString.
+     */
+    public void mostrar() {
+        for (T dato : this) {
+            System.out.println(dato.toString());
+        }
+    }
+
+    public NodoPersistente<T> getPrimero() {
+        return primero;
+    }
+
+    public int tamaño() {
+        return tamaño;
+    }
+
+    public boolean estaVacia() {
+        return primero == null;
+    }
+
+    /**
+     * Retorna un iterador sobre los elementos de esta version. No necesita
+     * sincronizacion: las versiones nuevas no modifican sus nodos.
+     *
+     * @return un iterador sobre los datos de los nodos.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private NodoPersistente<T> actual = primero;
+
+            @Override
+            public boolean hasNext() {
+                return actual != null;
+            }
+
+            @Override
+            public T next() {
+                if (actual == null) {
+                    throw new NoSuchElementException();
+                }
+                T dato = actual.getDato();
+                actual = actual.getSiguiente();
+                return dato;
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), tamaño, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Retorna un flujo secuencial sobre los elementos de esta version.
+     *
+     * @return el flujo de los datos de los nodos.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+}
@@ -0,0 +1,92 @@
+package listas_genericas;
+
+import entidades.Persona;
+
+/**
+ * Lista de personas indexada por DNI que mantiene ademas un
+ * {@link IndiceFechasNacimiento} para consultar por edad sin recorrer la
+ * lista.
+ *
+ * Toda insercion pasa por {@code insertarFrente(NodoSimple)} o
+ * {@code insertarFinal(NodoSimple)} y toda eliminacion por
+ * {@code desenganchar}, por lo que basta sobrescribir esos metodos para que
+ * el indice quede sincronizado con la lista. Al reemplazar la cadena con
+ * {@code setPrimero} el indice se reconstruye.
+ *
+ * @author Carlos Álvarez
+ */
+public class ListaPersonas extends ListaSimpleIndexada<Persona> {
+
+    private final IndiceFechasNacimiento indiceFechas;
+
+    public ListaPersonas() {
+        super(Persona::getDni);
+        this.indiceFechas = new IndiceFechasNacimiento();
+    }
+
+    /**
+     * Inserta un nodo al frente de la lista y lo registra en los indices.
+     *
+     * @param nuevoNodo el nodo a insertar al frente de la lista.
+     * @throws IllegalArgumentException si ya existe una persona con el mismo
+     * DNI.
+     */
+    @Override
+    public void insertarFrente(NodoSimple nuevoNodo) {
+        super.insertarFrente(nuevoNodo);
+        indiceFechas.insertar((Persona) nuevoNodo.getDato());
+    }
+
+    /**
+     * Inserta un nodo al final de la lista y lo registra en los indices.
+     *
+     * @param nuevoNodo el nodo a insertar al final de la lista.
+     * @throws IllegalArgumentException si ya existe una persona con el mismo
+     * DNI.
+     */
+    @Override
+    public void insertarFinal(NodoSimple nuevoNodo) {
+        super.insertarFinal(nuevoNodo);
+        indiceFechas.insertar((Persona) nuevoNodo.getDato());
+    }
+
+    /**
+     * Desvincula un nodo de la cadena y quita a la persona de los indices.
+     *
+     * @param anterior el nodo previo al nodo a eliminar.
+     * @param actual el nodo que se va a eliminar.
+     * @return el nodo eliminado.
+     */
+    @Override
+    public NodoSimple desenganchar(NodoSimple anterior, NodoSimple actual) {
+        NodoSimple eliminado = super.desenganchar(anterior, actual);
+        indiceFechas.eliminar((Persona) eliminado.getDato());
+        return eliminado;
+    }
+
+    /**
+     * Reemplaza la cadena de nodos de la lista y reconstruye los indices.
+     *
+     * @param primero el primer nodo de la nueva cadena, o {@code null} para
+     * vaciar la lista.
+     * @throws IllegalArgumentException si la cadena contiene DNIs repetidos.
+     */
+    @Override
+    public void setPrimero(NodoSimple primero) {
+        super.setPrimero(primero);
+        indiceFechas.vaciar();
+        for (Persona persona : this) {
+            indiceFechas.insertar(persona);
+        }
+    }
+
+    /**
+     * Retorna el indice por fecha de nacimiento, para consultas por edad.
+     *
+     * @return el indice de la lista.
+     */
+    public IndiceFechasNacimiento getIndiceFechas() {
+        return indiceFechas;
+    }
+
+}
@@ -0,0 +1,334 @@
+package listas_genericas;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lista simple enlazada de personas cuyos nodos viven fuera del heap de Java.
+ *
+ * Los nodos son registros de tamaño fijo dentro de un buffer directo:
+ *
+ * <pre>
+ * desplazamiento  0: dni              (long)
+ * desplazamiento  8: fechaNacimiento  (int, empaquetada con Fecha.empaquetar)
+ * desplazamiento 12: nombreCompleto   (int, referencia al buffer de textos)
+ * desplazamiento 16: domicilio        (int, referencia al buffer de textos)
+ * desplazamiento 20: siguiente        (int, numero de nodo o NULO)
+ * </pre>
+ *
+ * Los enlaces son numeros de nodo y no referencias, por lo que el recolector
+ * de basura no ve millones de objetos pequeños sino dos buffers. Los textos se
+ * guardan en otro buffer directo como un largo seguido de sus bytes UTF-8.
+ *
+ * Los nodos liberados por {@code desenganchar} forman una lista de libres
+ * (enlazada por el mismo campo {@code siguiente}) y se reutilizan en las
+ * inserciones siguientes.
+ *
+ * @author Carlos Álvarez
+ */
+public class ListaPersonasFueraDeHeap {
+
+    /**
+     * Valor de enlace que indica la ausencia de nodo.
+     */
+    public static final int NULO = -1;
+
+    private static final int TAMAÑO_NODO = 24;
+    private static final int DESP_DNI = 0;
+    private static final int DESP_FECHA = 8;
+    private static final int DESP_NOMBRE = 12;
+    private static final int DESP_DOMICILIO = 16;
+    private static final int DESP_SIGUIENTE = 20;
+    // Limite practico del tamaño de un arreglo, y por lo tanto de un buffer
+    private static final int CAPACIDAD_MAXIMA = Integer.MAX_VALUE - 8;
+
+    private ByteBuffer nodos;
+    private ByteBuffer textos;
+
+    private int primero;
+    private int libre;
+    private int nodosUsados;
+    private int tamaño;
+    private int bytesTextoLibres;
+
+    public ListaPersonasFueraDeHeap() {
+        this(1024);
+    }
+
+    /**
+     * Crea una lista vacía reservando memoria para la cantidad indicada de
+     * nodos.
+     *
+     * @param capacidad cantidad de nodos a reservar.
+     */
+    public ListaPersonasFueraDeHeap(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        this.nodos = ByteBuffer.allocateDirect(nuevaCapacidad(0, (long) capacidad * TAMAÑO_NODO))
+                .order(ByteOrder.nativeOrder());
+        this.textos = ByteBuffer.allocateDirect((int) Math.min((long) capacidad * 32, CAPACIDAD_MAXIMA))
+                .order(ByteOrder.nativeOrder());
+        this.primero = NULO;
+        this.libre = NULO;
+        this.nodosUsados = 0;
+        this.tamaño = 0;
+        this.bytesTextoLibres = 0;
+    }
+
+    /**
+     * Inserta una persona al frente de la lista. Si hay nodos liberados se
+     * reutiliza uno de ellos.
+     *
+     * @param persona la persona cuyos datos se copian al nuevo nodo.
+     * @return el numero del nodo insertado.
+     */
+    public int insertarFrente(Persona persona) {
+        int nodo = reservarNodo();
+        int base = nodo * TAMAÑO_NODO;
+        byte[] nombre = persona.getNombreCompleto().getBytes(StandardCharsets.UTF_8);
+        byte[] domicilio = persona.getDomicilio().getBytes(StandardCharsets.UTF_8);
+        // Se reserva lugar para ambos textos antes de escribirlos: una
+        // compactacion entre ambas escrituras perdería el primero, que aún no
+        // pertenece a ningún nodo de la cadena.
+        reservarTexto(2 * Integer.BYTES + nombre.length + domicilio.length);
+
+        nodos.putLong(base + DESP_DNI, persona.getDni());
+        nodos.putInt(base + DESP_FECHA, persona.getFechaNacimiento().empaquetar());
+        nodos.putInt(base + DESP_NOMBRE, escribirTexto(nombre));
+        nodos.putInt(base + DESP_DOMICILIO, escribirTexto(domicilio));
+        nodos.putInt(base + DESP_SIGUIENTE, primero);
+        primero = nodo;
+        tamaño++;
+        return nodo;
+    }
+
+    /**
+     * Muestra los elementos de la lista.
+     */
+    public void mostrar() {
+        int p = primero;
+        while (p != NULO) {
+            System.out.println(obtener(p).toString());
+            p = getSiguiente(p);
+        }
+    }
+
+    /**
+     * Busca el nodo de una persona comparando por DNI, igual que
+     * {@code Persona.compareTo()}.
+     *
+     * @param buscado la persona a buscar.
+     * @return el numero de nodo encontrado, o {@link #NULO} si no se encuentra.
+     */
+    public int buscar(Persona buscado) {
+        return buscar(buscado.getDni());
+    }
+
+    /**
+     * Busca el nodo de una persona por su DNI.
+     *
+     * @param dni el DNI buscado.
+     * @return el numero de nodo encontrado, o {@link #NULO} si no se encuentra.
+     */
+    public int buscar(long dni) {
+        int actual = primero;
+        while (actual != NULO && getDni(actual) != dni) {
+            actual = getSiguiente(actual);
+        }
+        return actual;
+    }
+
+    /**
+     * Elimina el nodo de la persona con el mismo DNI que la proporcionada.
+     *
+     * @param e la persona a eliminar.
+     * @return una copia en el heap de la persona eliminada, o {@code null} si
+     * no existe o la lista está vacía.
+     */
+    public Persona eliminar(Persona e) {
+        return eliminar(e.getDni());
+    }
+
+    /**
+     * Elimina el nodo de la persona con el DNI indicado.
+     *
+     * @param dni el DNI de la persona a eliminar.
+     * @return una copia en el heap de la persona eliminada, o {@code null} si
+     * no existe o la lista está vacía.
+     */
+    public Persona eliminar(long dni) {
+
+        if (primero == NULO) {
+            System.out.println("Lista vacia!");
+            return null;
+        }
+
+        int actual = primero;
+        int anterior = NULO;
+        while (actual != NULO && getDni(actual) != dni) {
+            anterior = actual;
+            actual = getSiguiente(actual);
+        }
+
+        if (actual == NULO) {
+            System.out.println("Elemento inexistente");
+            return null;
+        }
+        return desenganchar(anterior, actual);
+    }
+
+    /**
+     * Desvincula un nodo de la cadena y lo agrega a la lista de libres.
+     *
+     * @param anterior el nodo previo al nodo a eliminar, o {@link #NULO} si es
+     * el primero.
+     * @param actual el nodo que se va a eliminar.
+     * @return una copia en el heap de la persona que contenía el nodo.
+     */
+    public Persona desenganchar(int anterior, int actual) {
+
+        Persona eliminada = obtener(actual);
+        int siguiente = getSiguiente(actual);
+        if (actual == primero) {
+            primero = siguiente;
+        } else {
+            nodos.putInt(anterior * TAMAÑO_NODO + DESP_SIGUIENTE, siguiente);
+        }
+
+        int base = actual * TAMAÑO_NODO;
+        bytesTextoLibres += largoTexto(nodos.getInt(base + DESP_NOMBRE))
+                + largoTexto(nodos.getInt(base + DESP_DOMICILIO));
+        nodos.putInt(base + DESP_SIGUIENTE, libre);
+        libre = actual;
+        tamaño--;
+        return eliminada;
+    }
+
+    /**
+     * Copia al heap la persona almacenada en un nodo.
+     *
+     * @param nodo el numero del nodo.
+     * @return una nueva instancia con los datos del nodo.
+     */
+    public Persona obtener(int nodo) {
+        int base = nodo * TAMAÑO_NODO;
+        return new Persona(nodos.getLong(base + DESP_DNI),
+                leerTexto(nodos.getInt(base + DESP_NOMBRE)),
+                leerTexto(nodos.getInt(base + DESP_DOMICILIO)),
+                Fecha.desempaquetar(nodos.getInt(base + DESP_FECHA)));
+    }
+
+    public long getDni(int nodo) {
+        return nodos.getLong(nodo * TAMAÑO_NODO + DESP_DNI);
+    }
+
+    public int getFechaNacimientoEmpaquetada(int nodo) {
+        return nodos.getInt(nodo * TAMAÑO_NODO + DESP_FECHA);
+    }
+
+    public int getSiguiente(int nodo) {
+        return nodos.getInt(nodo * TAMAÑO_NODO + DESP_SIGUIENTE);
+    }
+
+    public int getPrimero() {
+        return primero;
+    }
+
+    public int tamaño() {
+        return tamaño;
+    }
+
+    private int reservarNodo() {
+        if (libre != NULO) {
+            int nodo = libre;
+            libre = getSiguiente(nodo);
+            return nodo;
+        }
+        long necesaria = (long) (nodosUsados + 1) * TAMAÑO_NODO;
+        if (necesaria > nodos.capacity()) {
+            nodos = ampliar(nodos, nuevaCapacidad(nodos.capacity(), necesaria));
+        }
+        return nodosUsados++;
+    }
+
+    private void reservarTexto(int necesario) {
+        if ((long) textos.position() + necesario > textos.capacity()) {
+            if (bytesTextoLibres > textos.position() / 2) {
+                compactarTextos();
+            }
+            long necesaria = (long) textos.position() + necesario;
+            if (necesaria > textos.capacity()) {
+                textos = ampliar(textos, nuevaCapacidad(textos.capacity(), necesaria));
+            }
+        }
+    }
+
+    private int escribirTexto(byte[] bytes) {
+        int referencia = textos.position();
+        textos.putInt(bytes.length);
+        textos.put(bytes);
+        return referencia;
+    }
+
+    private String leerTexto(int referencia) {
+        int largo = textos.getInt(referencia);
+        byte[] bytes = new byte[largo];
+        textos.get(referencia + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int largoTexto(int referencia) {
+        return Integer.BYTES + textos.getInt(referencia);
+    }
+
+    /**
+     * Reescribe los textos de los nodos vivos al comienzo de un buffer nuevo,
+     * descartando los de los nodos eliminados.
+     */
+    private void compactarTextos() {
+        ByteBuffer compacto = ByteBuffer.allocateDirect(textos.capacity()).order(ByteOrder.nativeOrder());
+        int p = primero;
+        while (p != NULO) {
+            int base = p * TAMAÑO_NODO;
+            nodos.putInt(base + DESP_NOMBRE, copiarTexto(nodos.getInt(base + DESP_NOMBRE), compacto));
+            nodos.putInt(base + DESP_DOMICILIO, copiarTexto(nodos.getInt(base + DESP_DOMICILIO), compacto));
+            p = getSiguiente(p);
+        }
+        textos = compacto;
+        bytesTextoLibres = 0;
+    }
+
+    private int copiarTexto(int referencia, ByteBuffer destino) {
+        int largo = largoTexto(referencia);
+        int nuevaReferencia = destino.position();
+        destino.put(destino.position(), textos, referencia, largo);
+        destino.position(nuevaReferencia + largo);
+        return nuevaReferencia;
+    }
+
+    /**
+     * Calcula la capacidad a la que crece un buffer: el doble de la actual,
+     * sin superar {@code CAPACIDAD_MAXIMA}, y al menos la necesaria.
+     *
+     * @throws IllegalStateException si la capacidad necesaria supera el
+     * maximo de un buffer.
+     */
+    private static int nuevaCapacidad(int capacidad, long necesaria) {
+        if (necesaria > CAPACIDAD_MAXIMA) {
+            throw new IllegalStateException("Capacidad agotada: se necesitan " + necesaria
+                    + " bytes y un buffer admite como maximo " + CAPACIDAD_MAXIMA);
+        }
+        return (int) Math.max(necesaria, Math.min(2L * capacidad, CAPACIDAD_MAXIMA));
+    }
+
+    private static ByteBuffer ampliar(ByteBuffer buffer, int capacidad) {
+        ByteBuffer ampliado = ByteBuffer.allocateDirect(capacidad).order(ByteOrder.nativeOrder());
+        int posicion = buffer.position();
+        ampliado.put(0, buffer, 0, buffer.capacity());
+        ampliado.position(posicion);
+        return ampliado;
+    }
+
+}
@@ -0,0 +1,380 @@
+package listas_genericas;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lista por saltos (skip list) que mantiene sus elementos ordenados segun
+ * {@code compareTo()}.
+ *
+ * Cada nodo participa de un numero aleatorio de niveles; los niveles
+ * superiores enlazan nodos cada vez mas distantes, de modo que
+ * {@code buscar}, {@code insertar} y {@code eliminar} descienden desde el
+ * nivel mas alto y recorren en promedio O(log n) nodos en lugar de toda la
+ * cadena. El nivel 0 es una lista simple ordenada, que se usa para el
+ * recorrido.
+ *
+ * Se admiten elementos iguales; se insertan despues de los ya existentes,
+ * por lo que el orden de insercion entre iguales se conserva.
+ *
+ * Cada enlace guarda ademas cuantas posiciones avanza (su ancho), lo que
+ * permite contar los elementos menores a uno dado y acceder por posicion en
+ * O(log n), sin recorrer el nivel 0.
+ *
+ * @param <T> el tipo de dato almacenado. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class ListaSalteada<T extends Comparable> implements Iterable<T> {
+
+    private static final int NIVEL_MAXIMO = 32;
+
+    // Centinela con enlaces en todos los niveles; no contiene dato.
+    private final NodoSalteado<T> cabeza;
+    private int niveles;
+    private int tamaño;
+    private int semilla;
+
+    public ListaSalteada() {
+        this.cabeza = new NodoSalteado<>(null, NIVEL_MAXIMO);
+        this.niveles = 1;
+        this.tamaño = 0;
+        this.semilla = (int) System.nanoTime() | 1;
+    }
+
+    /**
+     * Inserta un elemento en su posicion segun el orden de
+     * {@code compareTo()}.
+     *
+     * @param elemento el elemento a insertar.
+     */
+    public void insertar(Comparable elemento) {
+        NodoSalteado<T>[] anteriores = new NodoSalteado[NIVEL_MAXIMO];
+        // Posicion de cada nodo anterior; la cabeza es la posicion 0
+        int[] posiciones = new int[NIVEL_MAXIMO];
+        NodoSalteado<T> actual = cabeza;
+        int posicion = 0;
+        for (int nivel = niveles - 1; nivel >= 0; nivel--) {
+            NodoSalteado<T> siguiente = actual.getSiguiente(nivel);
+            while (siguiente != null && elemento.compareTo(siguiente.getDato()) >= 0) {
+                posicion += actual.getAncho(nivel);
+                actual = siguiente;
+                siguiente = actual.getSiguiente(nivel);
+            }
+            anteriores[nivel] = actual;
+            posiciones[nivel] = posicion;
+        }
+
+        int nivelesNodo = nivelAleatorio();
+        if (nivelesNodo > niveles) {
+            for (int nivel = niveles; nivel < nivelesNodo; nivel++) {
+                anteriores[nivel] = cabeza;
+                posiciones[nivel] = 0;
+            }
+            niveles = nivelesNodo;
+        }
+
+        NodoSalteado<T> nuevoNodo = new NodoSalteado<>((T) elemento, nivelesNodo);
+        int posicionNueva = posicion + 1;
+        for (int nivel = 0; nivel < nivelesNodo; nivel++) {
+            NodoSalteado<T> anterior = anteriores[nivel];
+            int saltoAnterior = posicionNueva - posiciones[nivel];
+            if (anterior.getSiguiente(nivel) != null) {
+                nuevoNodo.setAncho(nivel, anterior.getAncho(nivel) - saltoAnterior + 1);
+            }
+            nuevoNodo.setSiguiente(nivel, anterior.getSiguiente(nivel));
+            anterior.setSiguiente(nivel, nuevoNodo);
+            anterior.setAncho(nivel, saltoAnterior);
+        }
+        // Los enlaces que pasan por encima del nodo nuevo avanzan una posicion mas
+        for (int nivel = nivelesNodo; nivel < niveles; nivel++) {
+            if (anteriores[nivel].getSiguiente(nivel) != null) {
+                anteriores[nivel].setAncho(nivel, anteriores[nivel].getAncho(nivel) + 1);
+            }
+        }
+        tamaño++;
+    }
+
+    /**
+     * Busca un elemento igual al proporcionado segun {@code compareTo()}.
+     *
+     * @param buscado el elemento a buscar.
+     * @return el primer elemento igual al buscado, o {@code null} si no se
+     * encuentra.
+     */
+    public T buscar(Comparable buscado) {
+        NodoSalteado<T> candidato = anteriorA(buscado).getSiguiente();
+        if (candidato != null && buscado.compareTo(candidato.getDato()) == 0) {
+            return candidato.getDato();
+        }
+        return null;
+    }
+
+    /**
+     * Elimina el primer elemento igual al proporcionado segun
+     * {@code compareTo()}.
+     *
+     * @param e el dato a buscar y comparar para determinar el elemento a
+     * eliminar.
+     * @return el elemento eliminado si se encuentra, o {@code null} si no
+     * existe o la lista está vacía.
+     */
+    public T eliminar(Comparable e) {
+
+        if (tamaño == 0) {
+            System.out.println("Lista vacia!");
+            return null;
+        }
+
+        NodoSalteado<T>[] anteriores = new NodoSalteado[NIVEL_MAXIMO];
+        NodoSalteado<T> actual = cabeza;
+        for (int nivel = niveles - 1; nivel >= 0; nivel--) {
+            NodoSalteado<T> siguiente = actual.getSiguiente(nivel);
+            while (siguiente != null && e.compareTo(siguiente.getDato()) > 0) {
+                actual = siguiente;
+                siguiente = actual.getSiguiente(nivel);
+            }
+            anteriores[nivel] = actual;
+        }
+
+        NodoSalteado<T> eliminado = actual.getSiguiente();
+        if (eliminado == null || e.compareTo(eliminado.getDato()) != 0) {
+            System.out.println("Elemento inexistente");
+            return null;
+        }
+
+        for (int nivel = 0; nivel < eliminado.getNiveles(); nivel++) {
+            anteriores[nivel].setAncho(nivel, anteriores[nivel].getAncho(nivel) + eliminado.getAncho(nivel) - 1);
+            anteriores[nivel].setSiguiente(nivel, eliminado.getSiguiente(nivel));
+        }
+        for (int nivel = eliminado.getNiveles(); nivel < niveles; nivel++) {
+            if (anteriores[nivel].getSiguiente(nivel) != null) {
+                anteriores[nivel].setAncho(nivel, anteriores[nivel].getAncho(nivel) - 1);
+            }
+        }
+        while (niveles > 1 && cabeza.getSiguiente(niveles - 1) == null) {
+            niveles--;
+        }
+        tamaño--;
+        return eliminado.getDato();
+    }
+
+    /**
+     * Retorna el mayor elemento menor o igual al proporcionado.
+     *
+     * @param e el elemento de referencia.
+     * @return el elemento encontrado, o {@code null} si todos son mayores.
+     */
+    public T piso(Comparable e) {
+        NodoSalteado<T> actual = cabeza;
+        for (int nivel = niveles - 1; nivel >= 0; nivel--) {
+            NodoSalteado<T> siguiente = actual.getSiguiente(nivel);
+            while (siguiente != null && e.compareTo(siguiente.getDato()) >= 0) {
+                actual = siguiente;
+                siguiente = actual.getSiguiente(nivel);
+            }
+        }
+        return actual == cabeza ? null : actual.getDato();
+    }
+
+    /**
+     * Retorna el menor elemento mayor o igual al proporcionado.
+     *
+     * @param e el elemento de referencia.
+     * @return el elemento encontrado, o {@code null} si todos son menores.
+     */
+    public T techo(Comparable e) {
+        NodoSalteado<T> candidato = anteriorA(e).getSiguiente();
+        return candidato == null ? null : candidato.getDato();
+    }
+
+    /**
+     * Cuenta los elementos estrictamente menores al proporcionado, sumando los
+     * anchos de los enlaces que se avanzan al descender.
+     *
+     * @param e el elemento de referencia.
+     * @return la cantidad de elementos menores; es tambien la posicion (desde
+     * 0) del primer elemento mayor o igual a {@code e}.
+     */
+    public int contarMenores(Comparable e) {
+        NodoSalteado<T> actual = cabeza;
+        int cantidad = 0;
+        for (int nivel = niveles - 1; nivel >= 0; nivel--) {
+            NodoSalteado<T> siguiente = actual.getSiguiente(nivel);
+            while (siguiente != null && e.compareTo(siguiente.getDato()) > 0) {
+                cantidad += actual.getAncho(nivel);
+                actual = siguiente;
+                siguiente = actual.getSiguiente(nivel);
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Cuenta los elementos menores o iguales al proporcionado.
+     *
+     * @param e el elemento de referencia.
+     * @return la cantidad de elementos menores o iguales.
+     */
+    public int contarMenoresOIguales(Comparable e) {
+        NodoSalteado<T> actual = cabeza;
+        int cantidad = 0;
+        for (int nivel = niveles - 1; nivel >= 0; nivel--) {
+            NodoSalteado<T> siguiente = actual.getSiguiente(nivel);
+            while (siguiente != null && e.compareTo(siguiente.getDato()) >= 0) {
+                cantidad += actual.getAncho(nivel);
+                actual = siguiente;
+                siguiente = actual.getSiguiente(nivel);
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Retorna el elemento que ocupa una posicion en el orden de la lista.
+     *
+     * @param indice la posicion, desde 0.
+     * @return el elemento en esa posicion.
+     * @throws IndexOutOfBoundsException si el indice está fuera de rango.
+     */
+    public T obtener(int indice) {
+        if (indice < 0 || indice >= tamaño) {
+            throw new IndexOutOfBoundsException("Indice fuera de rango: " + indice);
+        }
+        NodoSalteado<T> actual = cabeza;
+        int restante = indice + 1;
+        for (int nivel = niveles - 1; nivel >= 0; nivel--) {
+            while (actual.getSiguiente(nivel) != null && actual.getAncho(nivel) <= restante) {
+                restante -= actual.getAncho(nivel);
+                actual = actual.getSiguiente(nivel);
+            }
+        }
+        return actual.getDato();
+    }
+
+    /**
+     * Retorna el menor elemento de la lista.
+     *
+     * @return el primer elemento, o {@code null} si la lista está vacía.
+     */
+    public T minimo() {
+        NodoSalteado<T> primero = cabeza.getSiguiente();
+        return primero == null ? null : primero.getDato();
+    }
+
+    /**
+     * Retorna el mayor elemento de la lista, descendiendo por los niveles.
+     *
+     * @return el ultimo elemento, o {@code null} si la lista está vacía.
+     */
+    public T maximo() {
+        NodoSalteado<T> actual = cabeza;
+        for (int nivel = niveles - 1; nivel >= 0; nivel--) {
+            while (actual.getSiguiente(nivel) != null) {
+                actual = actual.getSiguiente(nivel);
+            }
+        }
+        return actual == cabeza ? null : actual.getDato();
+    }
+
+    /**
+     * Muestra los elementos de la lista en orden. Los elementos deben tener
+     * implementado el metodo toString.
+     */
+    public void mostrar() {
+        NodoSalteado<T> p = cabeza.getSiguiente();
+        while (p != null) {
+            System.out.println(p.getDato().toString());
+            p = p.getSiguiente();
+        }
+    }
+
+    public int tamaño() {
+        return tamaño;
+    }
+
+    public boolean estaVacia() {
+        return tamaño == 0;
+    }
+
+    public NodoSalteado<T> getPrimero() {
+        return cabeza.getSiguiente();
+    }
+
+    /**
+     * Retorna un iterador que recorre los elementos en orden ascendente. La
+     * lista no debe modificarse durante el recorrido.
+     *
+     * @return un iterador sobre los elementos.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return iterador(cabeza.getSiguiente());
+    }
+
+    /**
+     * Retorna un iterador que recorre en orden ascendente los elementos
+     * mayores o iguales al proporcionado. El primero se localiza en O(log n).
+     *
+     * @param desde el elemento de referencia.
+     * @return un iterador sobre los elementos desde {@code desde}.
+     */
+    public Iterator<T> iteradorDesde(Comparable desde) {
+        return iterador(anteriorA(desde).getSiguiente());
+    }
+
+    private Iterator<T> iterador(NodoSalteado<T> inicio) {
+        return new Iterator<T>() {
+            private NodoSalteado<T> actual = inicio;
+
+            @Override
+            public boolean hasNext() {
+                return actual != null;
+            }
+
+            @Override
+            public T next() {
+                if (actual == null) {
+                    throw new NoSuchElementException();
+                }
+                T dato = actual.getDato();
+                actual = actual.getSiguiente();
+                return dato;
+            }
+        };
+    }
+
+    /**
+     * Retorna el ultimo nodo cuyo dato es estrictamente menor que el
+     * proporcionado, o la cabeza si no hay ninguno.
+     */
+    private NodoSalteado<T> anteriorA(Comparable e) {
+        NodoSalteado<T> actual = cabeza;
+        for (int nivel = niveles - 1; nivel >= 0; nivel--) {
+            NodoSalteado<T> siguiente = actual.getSiguiente(nivel);
+            while (siguiente != null && e.compareTo(siguiente.getDato()) > 0) {
+                actual = siguiente;
+                siguiente = actual.getSiguiente(nivel);
+            }
+        }
+        return actual;
+    }
+
+    /**
+     * Sortea la cantidad de niveles de un nodo nuevo: cada nivel adicional
+     * tiene probabilidad 1/4, con un generador xorshift propio.
+     */
+    private int nivelAleatorio() {
+        int x = semilla;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        semilla = x;
+        int nivel = 1;
+        while ((x & 3) == 0 && nivel < NIVEL_MAXIMO) {
+            nivel++;
+            x >>>= 2;
+        }
+        return nivel;
+    }
+
+}
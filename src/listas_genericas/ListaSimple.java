@@ -1,15 +1,37 @@
 package listas_genericas;
 
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import utilidades.GestorSalidaConsola;
+
 /**
  *
  * @author Carlos Álvarez
  */
-public class ListaSimple <T extends Comparable> {
+public class ListaSimple <T extends Comparable> implements Iterable<T> {
 
     protected NodoSimple<T> primero;
+    protected NodoSimple<T> ultimo;
+    protected int tamaño;
+    protected PoolNodos<T> pool;
+    protected EstadisticasLista estadisticas;
 
     public ListaSimple() {
         this.primero = null;
+        this.ultimo = null;
+        this.tamaño = 0;
+        this.pool = null;
+        this.estadisticas = null;
     }
 
     /**
@@ -19,7 +41,7 @@ public class ListaSimple <T extends Comparable> {
      * frente.
      */
     public void insertarFrente(Comparable elemento) {
-        insertarFrente(new NodoSimple(elemento));
+        insertarFrente(crearNodo(elemento));
     }
 
     /**
@@ -28,10 +50,121 @@ public class ListaSimple <T extends Comparable> {
      * @param nuevoNodo el nodo a insertar al frente de la lista.
      */
     public void insertarFrente(NodoSimple nuevoNodo) {
-        if (primero != null) {
-            nuevoNodo.setSiguiente(primero);
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.INSERTAR);
+        nuevoNodo.setSiguiente(primero);
+        if (primero == null) {
+            ultimo = nuevoNodo;
         }
         primero = nuevoNodo;
+        tamaño++;
+        if (medicion != null) {
+            medicion.finalizar(0, 0, tamaño);
+        }
+    }
+
+    /**
+     * Inserta un elemento al final de la lista enlazada.
+     *
+     * @param elemento el elemento que se almacenara en un nodo e insertará al
+     * final.
+     */
+    public void insertarFinal(Comparable elemento) {
+        insertarFinal(crearNodo(elemento));
+    }
+
+    /**
+     * Inserta un nodo al final de la lista enlazada. Gracias a la referencia
+     * al ultimo nodo la insercion se realiza en tiempo constante, sin
+     * recorrer la lista.
+     *
+     * @param nuevoNodo el nodo a insertar al final de la lista.
+     */
+    public void insertarFinal(NodoSimple nuevoNodo) {
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.INSERTAR);
+        nuevoNodo.setSiguiente(null);
+        if (primero == null) {
+            primero = nuevoNodo;
+        } else {
+            ultimo.setSiguiente(nuevoNodo);
+        }
+        ultimo = nuevoNodo;
+        tamaño++;
+        if (medicion != null) {
+            medicion.finalizar(0, 0, tamaño);
+        }
+    }
+
+    /**
+     * Inserta al final de la lista todos los elementos de una coleccion, en el
+     * orden en que la coleccion los entrega. Los nodos se enlazan primero entre
+     * sí y la cadena resultante se engancha al final de la lista de una sola
+     * vez.
+     *
+     * @param elementos los elementos a insertar.
+     * @return la cantidad de elementos insertados.
+     */
+    public int insertarTodos(Collection<? extends T> elementos) {
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.INSERTAR_LOTE);
+        NodoSimple<T> primeroCadena = null;
+        NodoSimple<T> ultimoCadena = null;
+        int cantidad = 0;
+        for (T elemento : elementos) {
+            NodoSimple<T> nuevoNodo = crearNodo(elemento);
+            if (primeroCadena == null) {
+                primeroCadena = nuevoNodo;
+            } else {
+                ultimoCadena.setSiguiente(nuevoNodo);
+            }
+            ultimoCadena = nuevoNodo;
+            cantidad++;
+        }
+        enlazarAlFinal(primeroCadena, ultimoCadena, cantidad);
+        if (medicion != null) {
+            medicion.finalizar(cantidad, 0, tamaño);
+        }
+        return cantidad;
+    }
+
+    /**
+     * Inserta al final de la lista todos los elementos de un arreglo, en
+     * orden, enganchando la cadena de nodos de una sola vez.
+     *
+     * @param elementos los elementos a insertar.
+     * @return la cantidad de elementos insertados.
+     */
+    public int insertarTodos(Comparable[] elementos) {
+        if (elementos.length == 0) {
+            return 0;
+        }
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.INSERTAR_LOTE);
+        NodoSimple primeroCadena = crearNodo(elementos[0]);
+        NodoSimple ultimoCadena = primeroCadena;
+        for (int i = 1; i < elementos.length; i++) {
+            NodoSimple nuevoNodo = crearNodo(elementos[i]);
+            ultimoCadena.setSiguiente(nuevoNodo);
+            ultimoCadena = nuevoNodo;
+        }
+        enlazarAlFinal(primeroCadena, ultimoCadena, elementos.length);
+        if (medicion != null) {
+            medicion.finalizar(elementos.length, 0, tamaño);
+        }
+        return elementos.length;
+    }
+
+    /**
+     * Engancha al final de la lista una cadena de nodos ya enlazada.
+     */
+    private void enlazarAlFinal(NodoSimple primeroCadena, NodoSimple ultimoCadena, int cantidad) {
+        if (primeroCadena == null) {
+            return;
+        }
+        if (primero == null) {
+            primero = primeroCadena;
+        } else {
+            ultimo.setSiguiente(primeroCadena);
+        }
+        ultimo = ultimoCadena;
+        tamaño += cantidad;
     }
 
     /**
@@ -39,11 +172,20 @@ public class ListaSimple <T extends Comparable> {
      * el metodo toString.
      */
     public void mostrar() {
-        NodoSimple p = primero;
-        while (p != null) {
-            System.out.println(p.getDato().toString());
-            p = p.getSiguiente();
-        }
+        mostrar(System.out);
+    }
+
+    /**
+     * Escribe los elementos de la lista en un flujo, uno por linea. La salida
+     * pasa por un buffer que solo se vacía cuando se llena y al terminar, en
+     * lugar de escribir en el flujo por cada elemento. El flujo no se cierra.
+     *
+     * @param destino el flujo donde se escriben los elementos (por ejemplo,
+     * {@code System.out} o un {@code FileOutputStream}).
+     * @throws java.io.UncheckedIOException si ocurre un error al escribir.
+     */
+    public void mostrar(OutputStream destino) {
+        GestorSalidaConsola.imprimir(iterator(), destino);
     }
 
     /**
@@ -58,10 +200,13 @@ public class ListaSimple <T extends Comparable> {
      */
     public NodoSimple buscar(Comparable buscado) {
 
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.BUSCAR);
         NodoSimple resultado = null;
         NodoSimple actual = primero;
+        int visitados = 0;
         boolean busqueda = false;
         while (actual != null && !busqueda) {
+            visitados++;
             if (buscado.compareTo(actual.getDato()) == 0) {
                 busqueda = true;
                 resultado = actual;
@@ -69,6 +214,9 @@ public class ListaSimple <T extends Comparable> {
                 actual = actual.getSiguiente();
             }
         }
+        if (medicion != null) {
+            medicion.finalizar(visitados, visitados, tamaño);
+        }
         return resultado;
     }
 
@@ -92,12 +240,15 @@ public class ListaSimple <T extends Comparable> {
             return null;
         }
 
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.ELIMINAR);
         NodoSimple resultado = null;
         NodoSimple actual = primero;
         NodoSimple anterior = null;
+        int visitados = 0;
 
         boolean busqueda = false;
         while (actual != null & !busqueda) {
+            visitados++;
             if (e.compareTo(actual.getDato()) == 0) {
                 busqueda = true;
             } else {
@@ -112,9 +263,81 @@ public class ListaSimple <T extends Comparable> {
             System.out.println("Elemento inexistente");
         }
 
+        if (medicion != null) {
+            medicion.finalizar(visitados, visitados, tamaño);
+        }
         return resultado;
     }
 
+    /**
+     * Elimina el nodo que contiene un dato igual al proporcionado y retorna
+     * solo el dato. Como el nodo no sale de la lista, se devuelve a la reserva
+     * de nodos si está habilitada, de modo que una insercion posterior lo
+     * reutilice.
+     *
+     * @param e el dato a buscar y comparar para determinar el nodo a eliminar.
+     * @return el dato eliminado, o {@code null} si no existe o la lista está
+     * vacía.
+     */
+    public T quitar(Comparable e) {
+        NodoSimple<T> eliminado = eliminar(e);
+        if (eliminado == null) {
+            return null;
+        }
+        T dato = eliminado.getDato();
+        liberar(eliminado);
+        return dato;
+    }
+
+    /**
+     * Elimina todos los nodos cuyo dato sea igual, segun {@code compareTo()},
+     * a alguno de los elementos proporcionados. Los elementos se ordenan en un
+     * {@code TreeSet}, por lo que la lista se recorre una sola vez y cada nodo
+     * se compara en O(log k) en lugar de buscar cada elemento desde el
+     * principio.
+     *
+     * @param elementos los elementos a eliminar.
+     * @return la cantidad de nodos eliminados.
+     */
+    public int eliminarTodos(Collection<? extends Comparable> elementos) {
+        if (primero == null || elementos.isEmpty()) {
+            return 0;
+        }
+        TreeSet<Comparable> buscados = new TreeSet<>(elementos);
+        return eliminarSi(dato -> buscados.contains(dato));
+    }
+
+    /**
+     * Elimina, en un unico recorrido, todos los nodos cuyo dato cumpla la
+     * condicion. Cada nodo se quita con {@code desenganchar} y, como no se
+     * retorna, se devuelve a la reserva de nodos si está habilitada.
+     *
+     * @param condicion el predicado que deben cumplir los datos a eliminar.
+     * @return la cantidad de nodos eliminados.
+     */
+    public int eliminarSi(Predicate<? super T> condicion) {
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.ELIMINAR_LOTE);
+        int eliminados = 0;
+        int visitados = 0;
+        NodoSimple<T> anterior = null;
+        NodoSimple<T> actual = primero;
+        while (actual != null) {
+            visitados++;
+            NodoSimple<T> siguiente = actual.getSiguiente();
+            if (condicion.test(actual.getDato())) {
+                liberar(desenganchar(anterior, actual));
+                eliminados++;
+            } else {
+                anterior = actual;
+            }
+            actual = siguiente;
+        }
+        if (medicion != null) {
+            medicion.finalizar(visitados, visitados, tamaño);
+        }
+        return eliminados;
+    }
+
     /**
      * Elimina un nodo de la lista desvinculándolo de la cadena de nodos.
      *
@@ -134,15 +357,366 @@ public class ListaSimple <T extends Comparable> {
         } else {
             anterior.setSiguiente(actual.getSiguiente());
         }
+        if (actual == ultimo) {
+            ultimo = (primero == null) ? null : anterior;
+        }
+        tamaño--;
         return eliminado;
     }
 
+    /**
+     * Ordena la lista segun el orden natural de sus elementos
+     * ({@code compareTo()}).
+     *
+     * @see #ordenar(Comparator)
+     */
+    public void ordenar() {
+        ordenar((a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena la lista con un ordenamiento por mezcla natural de abajo hacia
+     * arriba. No se crean nodos ni arreglos auxiliares: solo se reenlazan los
+     * nodos existentes.
+     *
+     * Cada pasada divide la lista en corridas ya ordenadas y las mezcla de a
+     * pares, por lo que la cantidad de corridas se reduce a la mitad en cada
+     * pasada: O(n log n) en el peor caso y una sola pasada, O(n), si la lista
+     * ya estaba ordenada. El ordenamiento es estable.
+     *
+     * @param comparador el criterio de orden.
+     */
+    public void ordenar(Comparator<? super T> comparador) {
+        if (primero == null || primero.getSiguiente() == null) {
+            return;
+        }
+
+        int corridas;
+        do {
+            NodoSimple<T> resto = primero;
+            NodoSimple<T> cabeza = null;
+            NodoSimple<T> cola = null;
+            corridas = 0;
+
+            while (resto != null) {
+                NodoSimple<T> a = resto;
+                NodoSimple<T> finA = finDeCorrida(a, comparador);
+                resto = finA.getSiguiente();
+                finA.setSiguiente(null);
+
+                NodoSimple<T> b = resto;
+                NodoSimple<T> finB = null;
+                if (b != null) {
+                    finB = finDeCorrida(b, comparador);
+                    resto = finB.getSiguiente();
+                    finB.setSiguiente(null);
+                }
+
+                // Mezcla de las corridas a y b a continuacion de la cola.
+                while (a != null && b != null) {
+                    NodoSimple<T> menor;
+                    if (comparador.compare(a.getDato(), b.getDato()) <= 0) {
+                        menor = a;
+                        a = a.getSiguiente();
+                    } else {
+                        menor = b;
+                        b = b.getSiguiente();
+                    }
+                    if (cola == null) {
+                        cabeza = menor;
+                    } else {
+                        cola.setSiguiente(menor);
+                    }
+                    cola = menor;
+                }
+                // La corrida que no se agotó ya está enlazada hasta su fin.
+                NodoSimple<T> pendiente = (a != null) ? a : b;
+                if (cola == null) {
+                    cabeza = pendiente;
+                } else {
+                    cola.setSiguiente(pendiente);
+                }
+                cola = (a != null) ? finA : finB;
+                corridas++;
+            }
+
+            primero = cabeza;
+            ultimo = cola;
+        } while (corridas > 1);
+    }
+
+    /**
+     * Retorna el ultimo nodo de la corrida ordenada que comienza en el nodo
+     * indicado.
+     */
+    private NodoSimple<T> finDeCorrida(NodoSimple<T> inicio, Comparator<? super T> comparador) {
+        NodoSimple<T> fin = inicio;
+        while (fin.getSiguiente() != null
+                && comparador.compare(fin.getDato(), fin.getSiguiente().getDato()) <= 0) {
+            fin = fin.getSiguiente();
+        }
+        return fin;
+    }
+
+    /**
+     * Habilita la reutilizacion de nodos: los nodos que la lista descarta
+     * ({@code quitar}, {@code eliminarSi}, {@code eliminarTodos}) o que se
+     * devuelven con {@code liberar} se guardan, hasta la capacidad indicada,
+     * y las inserciones de elementos los reutilizan en lugar de crear nodos
+     * nuevos.
+     *
+     * @param capacidad cantidad maxima de nodos libres a conservar.
+     */
+    public void habilitarReciclaje(int capacidad) {
+        this.pool = new PoolNodos<>(capacidad);
+    }
+
+    /**
+     * Devuelve a la reserva un nodo que ya fue quitado de la lista (por
+     * ejemplo, el retornado por {@code eliminar}) y que no se volverá a usar.
+     * Si la reutilizacion no está habilitada no tiene efecto.
+     *
+     * @param nodo el nodo a liberar.
+     */
+    public void liberar(NodoSimple nodo) {
+        if (pool != null && nodo != null) {
+            pool.liberar(nodo);
+        }
+    }
+
+    public PoolNodos<T> getPool() {
+        return pool;
+    }
+
+    protected NodoSimple<T> crearNodo(Comparable elemento) {
+        return (pool != null) ? pool.obtener((T) elemento) : new NodoSimple<>((T) elemento);
+    }
+
+    /**
+     * Habilita la instrumentacion de la lista: a partir de ahora cada
+     * insercion, busqueda y eliminacion, individual o por lote
+     * ({@code insertarTodos}, {@code eliminarSi}, {@code eliminarTodos}),
+     * registra los nodos visitados, las llamadas a {@code compareTo()} y su
+     * latencia, y emite un evento de JDK Flight Recorder. Mientras la
+     * instrumentacion está deshabilitada las operaciones solo comprueban una
+     * referencia nula.
+     *
+     * @return las estadisticas que se irán acumulando.
+     */
+    public EstadisticasLista habilitarInstrumentacion() {
+        if (estadisticas == null) {
+            estadisticas = new EstadisticasLista();
+        }
+        return estadisticas;
+    }
+
+    /**
+     * Deshabilita la instrumentacion y descarta las estadisticas acumuladas.
+     */
+    public void deshabilitarInstrumentacion() {
+        estadisticas = null;
+    }
+
+    /**
+     * Retorna las estadisticas de la lista.
+     *
+     * @return las estadisticas, o {@code null} si la instrumentacion no está
+     * habilitada.
+     */
+    public EstadisticasLista getEstadisticas() {
+        return estadisticas;
+    }
+
+    protected EstadisticasLista.Medicion iniciarMedicion(EstadisticasLista.Operacion operacion) {
+        return (estadisticas != null) ? estadisticas.iniciar(operacion) : null;
+    }
+
+    /**
+     * Retorna la cantidad de elementos de la lista. El valor se mantiene
+     * actualizado en cada insercion y eliminacion, por lo que no se recorre la
+     * lista.
+     *
+     * @return la cantidad de nodos de la lista.
+     */
+    public int tamaño() {
+        return tamaño;
+    }
+
+    /**
+     * Retorna el ultimo nodo de la lista sin recorrerla.
+     *
+     * @return el ultimo nodo, o {@code null} si la lista está vacía.
+     */
+    public NodoSimple ultimo() {
+        return ultimo;
+    }
+
+    /**
+     * Indica si la lista no contiene elementos.
+     *
+     * @return verdadero si la lista está vacía.
+     */
+    public boolean estaVacia() {
+        return primero == null;
+    }
+
+    /**
+     * Retorna un iterador sobre los elementos de la lista, desde el primero
+     * hasta el ultimo. La lista no debe modificarse durante el recorrido.
+     *
+     * @return un iterador sobre los datos de los nodos.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private NodoSimple<T> actual = primero;
+
+            @Override
+            public boolean hasNext() {
+                return actual != null;
+            }
+
+            @Override
+            public T next() {
+                if (actual == null) {
+                    throw new NoSuchElementException();
+                }
+                T dato = actual.getDato();
+                actual = actual.getSiguiente();
+                return dato;
+            }
+        };
+    }
+
+    /**
+     * Retorna un {@code Spliterator} que conoce la cantidad exacta de
+     * elementos y que se divide copiando lotes crecientes de nodos a
+     * arreglos, de modo que un flujo paralelo pueda repartir la lista entre
+     * todos los nucleos. La lista no debe modificarse durante el recorrido.
+     *
+     * @return un spliterator ORDERED, SIZED y SUBSIZED sobre los datos.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new EspliteradorNodos<>(primero, tamaño);
+    }
+
+    /**
+     * Retorna un flujo secuencial sobre los elementos de la lista.
+     *
+     * @return el flujo de los datos de los nodos.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Retorna un flujo paralelo sobre los elementos de la lista.
+     *
+     * @return el flujo paralelo de los datos de los nodos.
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     public NodoSimple getPrimero() {
         return primero;
     }
 
+    /**
+     * Reemplaza la cadena de nodos de la lista. Como la cadena recibida puede
+     * tener cualquier longitud, se recorre una vez para recalcular el ultimo
+     * nodo y el tamaño.
+     *
+     * @param primero el primer nodo de la nueva cadena, o {@code null} para
+     * vaciar la lista.
+     */
     public void setPrimero(NodoSimple primero) {
         this.primero = primero;
+        this.ultimo = null;
+        this.tamaño = 0;
+        NodoSimple actual = primero;
+        while (actual != null) {
+            ultimo = actual;
+            tamaño++;
+            actual = actual.getSiguiente();
+        }
+    }
+
+    /**
+     * Spliterator sobre una cadena de nodos. Cada division copia a un arreglo
+     * un lote de nodos un poco mayor que el anterior, al estilo de
+     * {@code LinkedList}, ya que una cadena enlazada no puede partirse por la
+     * mitad sin recorrerla.
+     */
+    static final class EspliteradorNodos<T extends Comparable> implements Spliterator<T> {
+
+        private static final int INCREMENTO_LOTE = 1 << 10;
+        private static final int LOTE_MAXIMO = 1 << 25;
+
+        private NodoSimple<T> actual;
+        private int restantes;
+        private int lote;
+
+        EspliteradorNodos(NodoSimple<T> primero, int cantidad) {
+            this.actual = primero;
+            this.restantes = cantidad;
+            this.lote = 0;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            if (actual == null || restantes <= 0) {
+                return false;
+            }
+            T dato = actual.getDato();
+            actual = actual.getSiguiente();
+            restantes--;
+            accion.accept(dato);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> accion) {
+            NodoSimple<T> p = actual;
+            int n = restantes;
+            actual = null;
+            restantes = 0;
+            while (p != null && n > 0) {
+                accion.accept(p.getDato());
+                p = p.getSiguiente();
+                n--;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (actual == null || restantes <= 1) {
+                return null;
+            }
+            int n = Math.min(Math.min(lote + INCREMENTO_LOTE, LOTE_MAXIMO), restantes);
+            Object[] datos = new Object[n];
+            NodoSimple<T> p = actual;
+            int j = 0;
+            while (j < n && p != null) {
+                datos[j++] = p.getDato();
+                p = p.getSiguiente();
+            }
+            actual = p;
+            restantes -= j;
+            lote = j;
+            return Spliterators.spliterator(datos, 0, j, Spliterator.ORDERED);
+        }
+
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
     }
 
 }
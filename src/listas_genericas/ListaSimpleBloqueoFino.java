@@ -0,0 +1,214 @@
+package listas_genericas;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lista simple enlazada segura para varios hilos con un cerrojo por nodo.
+ *
+ * Las operaciones que modifican la lista avanzan con acoplamiento de
+ * cerrojos (hand-over-hand): toman el cerrojo del siguiente nodo antes de
+ * soltar el del anterior, de modo que dos escritores solo se esperan si
+ * trabajan sobre nodos vecinos. Los nodos se marcan como eliminados mientras
+ * se tienen ambos cerrojos, lo que permite que {@code buscar} y el iterador
+ * recorran la lista sin bloquear: un nodo recien desvinculado sigue
+ * apuntando a la lista y se descarta por su marca.
+ *
+ * A diferencia de {@link ListaSimple}, las operaciones no informan por
+ * consola cuando un elemento no existe; solo retornan {@code null}.
+ *
+ * @param <T> el tipo de dato almacenado. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class ListaSimpleBloqueoFino<T extends Comparable> implements Iterable<T> {
+
+    // Centinela que precede al primer nodo; su cerrojo protege el frente.
+    private final NodoBloqueable<T> cabeza;
+    private final LongAdder tamaño;
+
+    public ListaSimpleBloqueoFino() {
+        this.cabeza = new NodoBloqueable<>(null);
+        this.tamaño = new LongAdder();
+    }
+
+    /**
+     * Inserta un elemento al frente de la lista.
+     *
+     * @param elemento el elemento que se almacenara en un nodo e insertará al
+     * frente.
+     * @return el nodo insertado.
+     */
+    public NodoBloqueable<T> insertarFrente(Comparable elemento) {
+        NodoBloqueable<T> nuevoNodo = new NodoBloqueable<>((T) elemento);
+        cabeza.bloquear();
+        try {
+            nuevoNodo.setSiguiente(cabeza.getSiguiente());
+            cabeza.setSiguiente(nuevoNodo);
+        } finally {
+            cabeza.desbloquear();
+        }
+        tamaño.increment();
+        return nuevoNodo;
+    }
+
+    /**
+     * Busca un nodo cuyo dato sea igual al proporcionado segun
+     * {@code compareTo()}. Recorre la lista sin tomar cerrojos.
+     *
+     * @param buscado el elemento a buscar.
+     * @return el nodo que contiene el elemento buscado, o {@code null} si no se
+     * encuentra.
+     */
+    public NodoBloqueable<T> buscar(Comparable buscado) {
+        NodoBloqueable<T> actual = cabeza.getSiguiente();
+        while (actual != null) {
+            if (!actual.estaEliminado() && buscado.compareTo(actual.getDato()) == 0) {
+                return actual;
+            }
+            actual = actual.getSiguiente();
+        }
+        return null;
+    }
+
+    /**
+     * Elimina el primer nodo cuyo dato sea igual al proporcionado segun
+     * {@code compareTo()}, recorriendo la lista con acoplamiento de cerrojos.
+     *
+     * @param e el dato a buscar y comparar para determinar el nodo a eliminar.
+     * @return el nodo eliminado, o {@code null} si no existe.
+     */
+    public NodoBloqueable<T> eliminar(Comparable e) {
+        NodoBloqueable<T> anterior = cabeza;
+        anterior.bloquear();
+        try {
+            NodoBloqueable<T> actual = anterior.getSiguiente();
+            while (actual != null) {
+                actual.bloquear();
+                boolean coincide;
+                try {
+                    coincide = e.compareTo(actual.getDato()) == 0;
+                } catch (RuntimeException | Error falla) {
+                    // El finally solo suelta a anterior: actual no debe
+                    // quedar bloqueado si compareTo falla
+                    actual.desbloquear();
+                    throw falla;
+                }
+                if (coincide) {
+                    try {
+                        desvincular(anterior, actual);
+                    } finally {
+                        actual.desbloquear();
+                    }
+                    return actual;
+                }
+                anterior.desbloquear();
+                anterior = actual;
+                actual = actual.getSiguiente();
+            }
+            return null;
+        } finally {
+            anterior.desbloquear();
+        }
+    }
+
+    /**
+     * Elimina un nodo de la lista desvinculándolo de su anterior. Se toman los
+     * cerrojos de ambos nodos y se valida que sigan enlazados y vigentes; si
+     * otro hilo los modificó, no se elimina nada.
+     *
+     * @param anterior el nodo previo al nodo a eliminar, o {@code null} si es
+     * el primero.
+     * @param actual el nodo que se va a eliminar.
+     * @return el nodo eliminado, o {@code null} si la validacion falló.
+     */
+    public NodoBloqueable<T> desenganchar(NodoBloqueable<T> anterior, NodoBloqueable<T> actual) {
+        if (anterior == null) {
+            anterior = cabeza;
+        }
+        anterior.bloquear();
+        try {
+            actual.bloquear();
+            try {
+                if (anterior.estaEliminado() || actual.estaEliminado() || anterior.getSiguiente() != actual) {
+                    return null;
+                }
+                desvincular(anterior, actual);
+                return actual;
+            } finally {
+                actual.desbloquear();
+            }
+        } finally {
+            anterior.desbloquear();
+        }
+    }
+
+    /**
+     * Muestra los elementos de la lista. Los elementos deben tener implementado
+     * el metodo toString.
+     */
+    public void mostrar() {
+        for (T dato : this) {
+            System.out.println(dato.toString());
+        }
+    }
+
+    /**
+     * Retorna la cantidad de elementos. Si hay operaciones en curso en otros
+     * hilos el valor es aproximado.
+     *
+     * @return la cantidad de elementos de la lista.
+     */
+    public int tamaño() {
+        return tamaño.intValue();
+    }
+
+    public NodoBloqueable<T> getPrimero() {
+        return primeroVigente(cabeza.getSiguiente());
+    }
+
+    /**
+     * Retorna un iterador debilmente consistente que recorre la lista sin
+     * bloquear y omite los nodos eliminados.
+     *
+     * @return un iterador sobre los datos de los nodos no eliminados.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private NodoBloqueable<T> proximo = primeroVigente(cabeza.getSiguiente());
+
+            @Override
+            public boolean hasNext() {
+                return proximo != null;
+            }
+
+            @Override
+            public T next() {
+                if (proximo == null) {
+                    throw new NoSuchElementException();
+                }
+                T dato = proximo.getDato();
+                proximo = primeroVigente(proximo.getSiguiente());
+                return dato;
+            }
+        };
+    }
+
+    /**
+     * Marca y desvincula un nodo. Deben tenerse los cerrojos de ambos nodos.
+     */
+    private void desvincular(NodoBloqueable<T> anterior, NodoBloqueable<T> actual) {
+        actual.marcarEliminado();
+        anterior.setSiguiente(actual.getSiguiente());
+        tamaño.decrement();
+    }
+
+    private NodoBloqueable<T> primeroVigente(NodoBloqueable<T> nodo) {
+        while (nodo != null && nodo.estaEliminado()) {
+            nodo = nodo.getSiguiente();
+        }
+        return nodo;
+    }
+
+}
@@ -0,0 +1,178 @@
+package listas_genericas;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lista simple enlazada sin bloqueos, segura para ser usada desde varios
+ * hilos a la vez.
+ *
+ * Sigue el esquema de Harris y Michael: las inserciones se hacen al frente
+ * con un compare-and-set sobre el enlace del nodo centinela, y
+ * {@code eliminar} primero marca el enlace del nodo (eliminacion logica) y
+ * luego intenta desvincularlo de su predecesor (eliminacion fisica). Los
+ * nodos marcados que otra operacion encuentre en su recorrido son
+ * desvinculados por ella. {@code buscar} y el iterador nunca escriben ni
+ * esperan: ignoran los nodos marcados.
+ *
+ * A diferencia de {@link ListaSimple}, las operaciones no informan por
+ * consola cuando un elemento no existe; solo retornan {@code null}.
+ *
+ * @param <T> el tipo de dato almacenado. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class ListaSimpleConcurrente<T extends Comparable> implements Iterable<T> {
+
+    // Centinela que precede al primer nodo. Nunca se marca, de modo que la
+    // insercion al frente siempre tiene un enlace valido sobre el cual operar.
+    private final NodoConcurrente<T> cabeza;
+    private final LongAdder tamaño;
+
+    public ListaSimpleConcurrente() {
+        this.cabeza = new NodoConcurrente<>(null, null);
+        this.tamaño = new LongAdder();
+    }
+
+    /**
+     * Inserta un elemento al frente de la lista.
+     *
+     * @param elemento el elemento que se almacenara en un nodo e insertará al
+     * frente.
+     * @return el nodo insertado.
+     */
+    public NodoConcurrente<T> insertarFrente(Comparable elemento) {
+        NodoConcurrente<T> nuevoNodo = new NodoConcurrente<>((T) elemento, null);
+        NodoConcurrente<T> primero;
+        do {
+            primero = cabeza.siguiente.getReference();
+            nuevoNodo.siguiente.set(primero, false);
+        } while (!cabeza.siguiente.compareAndSet(primero, nuevoNodo, false, false));
+        tamaño.increment();
+        return nuevoNodo;
+    }
+
+    /**
+     * Busca un nodo no eliminado cuyo dato sea igual al proporcionado segun
+     * {@code compareTo()}. No bloquea ni modifica la lista.
+     *
+     * @param buscado el elemento a buscar.
+     * @return el nodo que contiene el elemento buscado, o {@code null} si no se
+     * encuentra.
+     */
+    public NodoConcurrente<T> buscar(Comparable buscado) {
+        NodoConcurrente<T> actual = cabeza.siguiente.getReference();
+        while (actual != null) {
+            if (!actual.estaEliminado() && buscado.compareTo(actual.getDato()) == 0) {
+                return actual;
+            }
+            actual = actual.siguiente.getReference();
+        }
+        return null;
+    }
+
+    /**
+     * Elimina un nodo cuyo dato sea igual al proporcionado segun
+     * {@code compareTo()}.
+     *
+     * La eliminacion se considera realizada en el momento en que se marca el
+     * enlace del nodo; si al desvincularlo otro hilo modificó el predecesor,
+     * el nodo queda marcado y lo desvinculará el proximo recorrido que lo
+     * encuentre.
+     *
+     * @param e el dato a buscar y comparar para determinar el nodo a eliminar.
+     * @return el nodo eliminado, o {@code null} si no existe.
+     */
+    public NodoConcurrente<T> eliminar(Comparable e) {
+        boolean[] marca = new boolean[1];
+
+        reintentar:
+        while (true) {
+            NodoConcurrente<T> anterior = cabeza;
+            NodoConcurrente<T> actual = anterior.siguiente.getReference();
+            while (actual != null) {
+                NodoConcurrente<T> siguiente = actual.siguiente.get(marca);
+                if (marca[0]) {
+                    // Nodo ya eliminado logicamente: se lo desvincula al pasar.
+                    if (!anterior.siguiente.compareAndSet(actual, siguiente, false, false)) {
+                        continue reintentar;
+                    }
+                    actual = siguiente;
+                    continue;
+                }
+                if (e.compareTo(actual.getDato()) == 0) {
+                    if (!actual.siguiente.compareAndSet(siguiente, siguiente, false, true)) {
+                        continue reintentar;
+                    }
+                    anterior.siguiente.compareAndSet(actual, siguiente, false, false);
+                    tamaño.decrement();
+                    return actual;
+                }
+                anterior = actual;
+                actual = siguiente;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Muestra los elementos de la lista. Los elementos deben tener implementado
+     * el metodo toString.
+     */
+    public void mostrar() {
+        for (T dato : this) {
+            System.out.println(dato.toString());
+        }
+    }
+
+    /**
+     * Retorna la cantidad de elementos. Si hay operaciones en curso en otros
+     * hilos el valor es aproximado.
+     *
+     * @return la cantidad de elementos de la lista.
+     */
+    public int tamaño() {
+        return tamaño.intValue();
+    }
+
+    public boolean estaVacia() {
+        return primeroVigente(cabeza.siguiente.getReference()) == null;
+    }
+
+    /**
+     * Retorna un iterador debilmente consistente: no falla si la lista se
+     * modifica durante el recorrido, omite los nodos eliminados que encuentre
+     * y puede o no reflejar cambios posteriores a su creacion.
+     *
+     * @return un iterador sobre los datos de los nodos no eliminados.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private NodoConcurrente<T> proximo = primeroVigente(cabeza.siguiente.getReference());
+
+            @Override
+            public boolean hasNext() {
+                return proximo != null;
+            }
+
+            @Override
+            public T next() {
+                if (proximo == null) {
+                    throw new NoSuchElementException();
+                }
+                T dato = proximo.getDato();
+                proximo = primeroVigente(proximo.siguiente.getReference());
+                return dato;
+            }
+        };
+    }
+
+    private NodoConcurrente<T> primeroVigente(NodoConcurrente<T> nodo) {
+        while (nodo != null && nodo.estaEliminado()) {
+            nodo = nodo.siguiente.getReference();
+        }
+        return nodo;
+    }
+
+}
@@ -0,0 +1,308 @@
+package listas_genericas;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.function.Function;
+
+/**
+ * Lista simple enlazada que mantiene un indice hash desde la clave de cada
+ * elemento hacia su nodo y hacia el nodo anterior.
+ *
+ * Con el indice, {@code buscar} y {@code eliminar} no recorren la cadena ni
+ * llaman a {@code compareTo()}: localizan el nodo y su predecesor en tiempo
+ * constante promedio y reutilizan {@code desenganchar} para quitarlo. La clave
+ * se obtiene del elemento con la funcion recibida en el constructor, por lo
+ * que debe ser coherente con {@code compareTo()} (por ejemplo, el DNI de una
+ * {@code Persona}) y no debe modificarse mientras el elemento esté en la
+ * lista.
+ *
+ * A diferencia de {@link ListaSimple}, no se admiten claves repetidas.
+ *
+ * @param <T> el tipo de dato almacenado. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class ListaSimpleIndexada<T extends Comparable> extends ListaSimple<T> {
+
+    private final Function<? super T, ?> extractorClave;
+    private HashMap<Object, NodoSimple> nodos;
+    // Para cada clave, el nodo que la precede. Las claves sin entrada no
+    // tienen predecesor (su nodo es el primero de la lista).
+    private HashMap<Object, NodoSimple> anteriores;
+
+    /**
+     * Crea una lista indexada vacía.
+     *
+     * @param extractorClave funcion que obtiene la clave de un elemento. Se
+     * aplica tanto a los elementos almacenados como a los elementos de
+     * busqueda pasados a {@code buscar} y {@code eliminar}.
+     */
+    public ListaSimpleIndexada(Function<? super T, ?> extractorClave) {
+        super();
+        this.extractorClave = extractorClave;
+        this.nodos = new HashMap<>();
+        this.anteriores = new HashMap<>();
+    }
+
+    /**
+     * Inserta un nodo al frente de la lista y lo registra en el indice.
+     *
+     * @param nuevoNodo el nodo a insertar al frente de la lista.
+     * @throws IllegalArgumentException si ya existe un elemento con la misma
+     * clave.
+     */
+    @Override
+    public void insertarFrente(NodoSimple nuevoNodo) {
+        Object clave = clave(nuevoNodo);
+        verificarClaveNueva(clave);
+        super.insertarFrente(nuevoNodo);
+        nodos.put(clave, nuevoNodo);
+        if (nuevoNodo.getSiguiente() != null) {
+            anteriores.put(clave(nuevoNodo.getSiguiente()), nuevoNodo);
+        }
+    }
+
+    /**
+     * Inserta un nodo al final de la lista y lo registra en el indice.
+     *
+     * @param nuevoNodo el nodo a insertar al final de la lista.
+     * @throws IllegalArgumentException si ya existe un elemento con la misma
+     * clave.
+     */
+    @Override
+    public void insertarFinal(NodoSimple nuevoNodo) {
+        Object clave = clave(nuevoNodo);
+        verificarClaveNueva(clave);
+        NodoSimple previo = ultimo;
+        super.insertarFinal(nuevoNodo);
+        nodos.put(clave, nuevoNodo);
+        if (previo != null) {
+            anteriores.put(clave, previo);
+        }
+    }
+
+    /**
+     * Inserta al final de la lista los elementos de una coleccion, en orden.
+     * Como cada nodo debe registrarse en el indice, se insertan de a uno; los
+     * elementos cuya clave ya existe se omiten.
+     *
+     * @param elementos los elementos a insertar.
+     * @return la cantidad de elementos insertados.
+     */
+    @Override
+    public int insertarTodos(Collection<? extends T> elementos) {
+        int cantidad = 0;
+        for (T elemento : elementos) {
+            if (insertarSiNoExiste(elemento)) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Inserta al final de la lista los elementos de un arreglo, en orden,
+     * omitiendo aquellos cuya clave ya existe.
+     *
+     * @param elementos los elementos a insertar.
+     * @return la cantidad de elementos insertados.
+     */
+    @Override
+    public int insertarTodos(Comparable[] elementos) {
+        int cantidad = 0;
+        for (Comparable elemento : elementos) {
+            if (insertarSiNoExiste(elemento)) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Busca un nodo por la clave del elemento proporcionado, sin recorrer la
+     * lista.
+     *
+     * @param buscado el elemento a buscar. Solo se utiliza su clave.
+     * @return el nodo que contiene el elemento buscado, o {@code null} si no se
+     * encuentra.
+     */
+    @Override
+    public NodoSimple buscar(Comparable buscado) {
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.BUSCAR);
+        NodoSimple resultado = nodos.get(extractorClave.apply((T) buscado));
+        if (medicion != null) {
+            medicion.finalizar(0, 0, tamaño);
+        }
+        return resultado;
+    }
+
+    /**
+     * Elimina el nodo cuyo elemento tiene la misma clave que el proporcionado.
+     * El nodo y su predecesor se obtienen del indice, por lo que no se recorre
+     * la lista.
+     *
+     * @param e el elemento cuya clave identifica al nodo a eliminar.
+     * @return el nodo eliminado si se encuentra, o {@code null} si no existe o
+     * la lista está vacía.
+     */
+    @Override
+    public NodoSimple eliminar(Comparable e) {
+
+        if (primero == null) {
+            System.out.println("Lista vacia!");
+            return null;
+        }
+
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.ELIMINAR);
+        Object clave = extractorClave.apply((T) e);
+        NodoSimple actual = nodos.get(clave);
+        NodoSimple resultado = null;
+        if (actual == null) {
+            System.out.println("Elemento inexistente");
+        } else {
+            resultado = desenganchar(anteriores.get(clave), actual);
+        }
+
+        if (medicion != null) {
+            medicion.finalizar(0, 0, tamaño);
+        }
+        return resultado;
+    }
+
+    /**
+     * Elimina los nodos cuyas claves coinciden con las de los elementos
+     * proporcionados, localizando cada uno en el indice en lugar de recorrer
+     * la lista.
+     *
+     * @param elementos los elementos a eliminar.
+     * @return la cantidad de nodos eliminados.
+     */
+    @Override
+    public int eliminarTodos(Collection<? extends Comparable> elementos) {
+        EstadisticasLista.Medicion medicion = iniciarMedicion(EstadisticasLista.Operacion.ELIMINAR_LOTE);
+        int eliminados = 0;
+        for (Comparable e : elementos) {
+            Object clave = extractorClave.apply((T) e);
+            NodoSimple actual = nodos.get(clave);
+            if (actual != null) {
+                liberar(desenganchar(anteriores.get(clave), actual));
+                eliminados++;
+            }
+        }
+        if (medicion != null) {
+            medicion.finalizar(0, 0, tamaño);
+        }
+        return eliminados;
+    }
+
+    /**
+     * Desvincula un nodo de la cadena y actualiza el indice: se quita la clave
+     * del nodo eliminado y su sucesor pasa a tener como predecesor al nodo
+     * anterior.
+     *
+     * @param anterior el nodo previo al nodo a eliminar.
+     * @param actual el nodo que se va a eliminar.
+     * @return el nodo eliminado.
+     */
+    @Override
+    public NodoSimple desenganchar(NodoSimple anterior, NodoSimple actual) {
+
+        NodoSimple siguiente = actual.getSiguiente();
+        boolean eraPrimero = actual == primero;
+        NodoSimple eliminado = super.desenganchar(anterior, actual);
+
+        Object clave = clave(actual);
+        nodos.remove(clave);
+        anteriores.remove(clave);
+        if (siguiente != null) {
+            if (eraPrimero) {
+                anteriores.remove(clave(siguiente));
+            } else {
+                anteriores.put(clave(siguiente), anterior);
+            }
+        }
+        return eliminado;
+    }
+
+    /**
+     * Ordena la lista reenlazando sus nodos y luego reconstruye el indice,
+     * porque los predecesores cambian.
+     *
+     * @param comparador el criterio de orden.
+     */
+    @Override
+    public void ordenar(Comparator<? super T> comparador) {
+        super.ordenar(comparador);
+        reindexar();
+    }
+
+    /**
+     * Reemplaza la cadena de nodos de la lista y reconstruye el indice
+     * recorriendola una vez. El indice de la nueva cadena se arma antes de
+     * reemplazarla, por lo que si tiene claves repetidas la lista queda sin
+     * cambios.
+     *
+     * @param primero el primer nodo de la nueva cadena, o {@code null} para
+     * vaciar la lista.
+     * @throws IllegalArgumentException si la cadena contiene claves repetidas.
+     */
+    @Override
+    public void setPrimero(NodoSimple primero) {
+        indexar(primero, 0);
+        super.setPrimero(primero);
+    }
+
+    /**
+     * Reconstruye el indice a partir de la cadena de nodos actual.
+     *
+     * @throws IllegalArgumentException si la cadena contiene claves repetidas;
+     * en ese caso se conserva el indice anterior.
+     */
+    protected void reindexar() {
+        indexar(primero, tamaño);
+    }
+
+    /**
+     * Arma el indice de una cadena de nodos en mapas nuevos y solo al
+     * terminar reemplaza los actuales, para que una clave repetida no deje
+     * el indice a medio reconstruir.
+     */
+    private void indexar(NodoSimple cadena, int esperados) {
+        HashMap<Object, NodoSimple> nuevosNodos = HashMap.newHashMap(esperados);
+        HashMap<Object, NodoSimple> nuevosAnteriores = HashMap.newHashMap(esperados);
+        NodoSimple anterior = null;
+        NodoSimple actual = cadena;
+        while (actual != null) {
+            Object clave = clave(actual);
+            if (nuevosNodos.putIfAbsent(clave, actual) != null) {
+                throw new IllegalArgumentException("Clave duplicada: " + clave);
+            }
+            if (anterior != null) {
+                nuevosAnteriores.put(clave, anterior);
+            }
+            anterior = actual;
+            actual = actual.getSiguiente();
+        }
+        nodos = nuevosNodos;
+        anteriores = nuevosAnteriores;
+    }
+
+    private boolean insertarSiNoExiste(Comparable elemento) {
+        if (nodos.containsKey(extractorClave.apply((T) elemento))) {
+            return false;
+        }
+        insertarFinal(elemento);
+        return true;
+    }
+
+    private Object clave(NodoSimple nodo) {
+        return extractorClave.apply((T) nodo.getDato());
+    }
+
+    private void verificarClaveNueva(Object clave) {
+        if (nodos.containsKey(clave)) {
+            throw new IllegalArgumentException("Clave duplicada: " + clave);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package listas_genericas;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Representa un nodo de una lista enlazada con un cerrojo propio. Los
+ * escritores bloquean los nodos que modifican; los lectores recorren sin
+ * bloquear gracias a que el enlace y la marca de eliminacion son volatiles.
+ *
+ * @param <T> el tipo de dato que contendrá el nodo. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class NodoBloqueable<T extends Comparable> {
+
+    private final T dato;
+    private volatile NodoBloqueable<T> siguiente;
+    private volatile boolean eliminado;
+    private final ReentrantLock cerrojo;
+
+    public NodoBloqueable(T dato) {
+        this.dato = dato;
+        this.cerrojo = new ReentrantLock();
+    }
+
+    public T getDato() {
+        return dato;
+    }
+
+    public NodoBloqueable<T> getSiguiente() {
+        return siguiente;
+    }
+
+    void setSiguiente(NodoBloqueable<T> siguiente) {
+        this.siguiente = siguiente;
+    }
+
+    /**
+     * Indica si el nodo fue quitado de la lista.
+     *
+     * @return verdadero si el nodo fue eliminado.
+     */
+    public boolean estaEliminado() {
+        return eliminado;
+    }
+
+    void marcarEliminado() {
+        this.eliminado = true;
+    }
+
+    void bloquear() {
+        cerrojo.lock();
+    }
+
+    void desbloquear() {
+        cerrojo.unlock();
+    }
+
+    @Override
+    public String toString() {
+        return "NodoBloqueable{" + "dato=" + dato + ", eliminado=" + eliminado + '}';
+    }
+
+}
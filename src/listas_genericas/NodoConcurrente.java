@@ -0,0 +1,46 @@
+package listas_genericas;
+
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Representa un nodo de una lista enlazada sin bloqueos. El enlace al
+ * siguiente nodo lleva una marca que indica que este nodo fue eliminado
+ * logicamente; enlace y marca se modifican juntos con una unica operacion
+ * compare-and-set.
+ *
+ * @param <T> el tipo de dato que contendrá el nodo. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class NodoConcurrente<T extends Comparable> {
+
+    private final T dato;
+    final AtomicMarkableReference<NodoConcurrente<T>> siguiente;
+
+    public NodoConcurrente(T dato, NodoConcurrente<T> siguiente) {
+        this.dato = dato;
+        this.siguiente = new AtomicMarkableReference<>(siguiente, false);
+    }
+
+    public T getDato() {
+        return dato;
+    }
+
+    public NodoConcurrente<T> getSiguiente() {
+        return siguiente.getReference();
+    }
+
+    /**
+     * Indica si el nodo fue eliminado logicamente.
+     *
+     * @return verdadero si el nodo está marcado como eliminado.
+     */
+    public boolean estaEliminado() {
+        return siguiente.isMarked();
+    }
+
+    @Override
+    public String toString() {
+        return "NodoConcurrente{" + "dato=" + dato + ", eliminado=" + estaEliminado() + '}';
+    }
+
+}
@@ -0,0 +1,118 @@
+package listas_genericas;
+
+import java.util.Arrays;
+
+/**
+ * Representa un nodo de una lista enlazada desenrollada. A diferencia de
+ * {@link NodoSimple}, cada nodo almacena varios elementos consecutivos en un
+ * arreglo, de modo que recorrerlos no requiere seguir un enlace por elemento.
+ *
+ * @param <T> el tipo de dato que contendrá el nodo. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class NodoDesenrollado<T extends Comparable> {
+
+    private final Object[] elementos;
+    private int cantidad;
+    private NodoDesenrollado<T> siguiente;
+
+    public NodoDesenrollado(int capacidad) {
+        this.elementos = new Object[capacidad];
+        this.cantidad = 0;
+    }
+
+    public T getElemento(int indice) {
+        return (T) elementos[indice];
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public int getCapacidad() {
+        return elementos.length;
+    }
+
+    public boolean estaLleno() {
+        return cantidad == elementos.length;
+    }
+
+    public NodoDesenrollado<T> getSiguiente() {
+        return siguiente;
+    }
+
+    public void setSiguiente(NodoDesenrollado<T> siguiente) {
+        this.siguiente = siguiente;
+    }
+
+    /**
+     * Inserta un elemento en la posicion indicada, desplazando los siguientes.
+     * El nodo no debe estar lleno.
+     *
+     * @param indice posicion entre 0 y {@code getCantidad()}.
+     * @param elemento el elemento a insertar.
+     */
+    void insertar(int indice, Object elemento) {
+        System.arraycopy(elementos, indice, elementos, indice + 1, cantidad - indice);
+        elementos[indice] = elemento;
+        cantidad++;
+    }
+
+    /**
+     * Agrega un elemento despues del ultimo. El nodo no debe estar lleno.
+     *
+     * @param elemento el elemento a agregar.
+     */
+    void agregar(Object elemento) {
+        elementos[cantidad++] = elemento;
+    }
+
+    /**
+     * Quita el elemento de la posicion indicada, desplazando los siguientes.
+     *
+     * @param indice posicion del elemento a quitar.
+     * @return el elemento quitado.
+     */
+    T quitar(int indice) {
+        T quitado = (T) elementos[indice];
+        System.arraycopy(elementos, indice + 1, elementos, indice, cantidad - indice - 1);
+        elementos[--cantidad] = null;
+        return quitado;
+    }
+
+    /**
+     * Mueve los elementos desde la posicion indicada hasta el final al final
+     * de otro nodo.
+     *
+     * @param desde primera posicion a mover.
+     * @param destino nodo que recibe los elementos. Debe tener lugar para
+     * todos ellos.
+     */
+    void moverCola(int desde, NodoDesenrollado<T> destino) {
+        int movidos = cantidad - desde;
+        System.arraycopy(elementos, desde, destino.elementos, destino.cantidad, movidos);
+        Arrays.fill(elementos, desde, cantidad, null);
+        destino.cantidad += movidos;
+        cantidad = desde;
+    }
+
+    /**
+     * Mueve los primeros elementos de otro nodo al final de este.
+     *
+     * @param origen nodo del que se toman los elementos.
+     * @param movidos cantidad de elementos a mover.
+     */
+    void tomarCabeza(NodoDesenrollado<T> origen, int movidos) {
+        System.arraycopy(origen.elementos, 0, elementos, cantidad, movidos);
+        System.arraycopy(origen.elementos, movidos, origen.elementos, 0, origen.cantidad - movidos);
+        Arrays.fill(origen.elementos, origen.cantidad - movidos, origen.cantidad, null);
+        origen.cantidad -= movidos;
+        cantidad += movidos;
+    }
+
+    @Override
+    public String toString() {
+        return "NodoDesenrollado{" + "cantidad=" + cantidad + ", siguiente=" + siguiente + '}';
+    }
+
+}
@@ -0,0 +1,35 @@
+package listas_genericas;
+
+/**
+ * Representa un nodo inmutable de una {@link ListaPersistente}. Como ni el
+ * dato ni el enlace cambian despues de construido, un mismo nodo puede ser
+ * compartido por varias versiones de la lista y leido desde cualquier hilo
+ * sin sincronizacion.
+ *
+ * @param <T> el tipo de dato que contendrá el nodo. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public final class NodoPersistente<T extends Comparable> {
+
+    private final T dato;
+    private final NodoPersistente<T> siguiente;
+
+    NodoPersistente(T dato, NodoPersistente<T> siguiente) {
+        this.dato = dato;
+        this.siguiente = siguiente;
+    }
+
+    public T getDato() {
+        return dato;
+    }
+
+    public NodoPersistente<T> getSiguiente() {
+        return siguiente;
+    }
+
+    @Override
+    public String toString() {
+        return "NodoPersistente{" + "dato=" + dato + '}';
+    }
+
+}
@@ -0,0 +1,64 @@
+package listas_genericas;
+
+/**
+ * Representa un nodo de una lista por saltos. Ademas del enlace al siguiente
+ * nodo (nivel 0), tiene enlaces a nodos mas lejanos en los niveles
+ * superiores.
+ *
+ * @param <T> el tipo de dato que contendrá el nodo. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class NodoSalteado<T extends Comparable> {
+
+    private final T dato;
+    private final NodoSalteado<T>[] siguientes;
+    // Cantidad de posiciones que avanza cada enlace: anchos[0] vale 1 y los
+    // niveles superiores cuentan los nodos que saltean mas uno. Solo tiene
+    // sentido para los enlaces no nulos.
+    private final int[] anchos;
+
+    public NodoSalteado(T dato, int niveles) {
+        this.dato = dato;
+        this.siguientes = new NodoSalteado[niveles];
+        this.anchos = new int[niveles];
+    }
+
+    public T getDato() {
+        return dato;
+    }
+
+    /**
+     * Retorna el siguiente nodo en orden.
+     *
+     * @return el siguiente nodo del nivel 0.
+     */
+    public NodoSalteado<T> getSiguiente() {
+        return siguientes[0];
+    }
+
+    public NodoSalteado<T> getSiguiente(int nivel) {
+        return siguientes[nivel];
+    }
+
+    void setSiguiente(int nivel, NodoSalteado<T> siguiente) {
+        siguientes[nivel] = siguiente;
+    }
+
+    public int getAncho(int nivel) {
+        return anchos[nivel];
+    }
+
+    void setAncho(int nivel, int ancho) {
+        anchos[nivel] = ancho;
+    }
+
+    public int getNiveles() {
+        return siguientes.length;
+    }
+
+    @Override
+    public String toString() {
+        return "NodoSalteado{" + "dato=" + dato + ", niveles=" + siguientes.length + '}';
+    }
+
+}
@@ -0,0 +1,292 @@
+package listas_genericas;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Almacen de personas organizado por columnas en lugar de por objetos.
+ *
+ * Cada persona ocupa una fila repartida en arreglos primitivos: el DNI en un
+ * {@code long[]}, la fecha de nacimiento empaquetada en un {@code int[]} (ver
+ * {@link Fecha#empaquetar()}) y el nombre y domicilio como posiciones dentro
+ * de un buffer de bytes UTF-8 compartido. Asi no existen nodos, objetos
+ * {@code Persona}, {@code Fecha} ni {@code String} por fila, y los recorridos
+ * leen memoria contigua.
+ *
+ * Las filas se identifican por su posicion, entre 0 y {@code tamaño() - 1}.
+ * Al eliminar, la ultima fila ocupa el lugar de la eliminada, por lo que el
+ * orden de las filas no se conserva.
+ *
+ * @author Carlos Álvarez
+ */
+public class PersonaStore {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private long[] dni;
+    private int[] fechaNacimiento;
+    private int[] inicioTexto;
+    private int[] largoNombre;
+    private int[] largoDomicilio;
+    private int tamaño;
+
+    private byte[] texto;
+    private int finTexto;
+    private int textoLibre;
+
+    public PersonaStore() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea un almacen vacío con lugar para la cantidad indicada de filas.
+     *
+     * @param capacidad cantidad de filas a reservar.
+     */
+    public PersonaStore(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        this.dni = new long[capacidad];
+        this.fechaNacimiento = new int[capacidad];
+        this.inicioTexto = new int[capacidad];
+        this.largoNombre = new int[capacidad];
+        this.largoDomicilio = new int[capacidad];
+        this.texto = new byte[capacidad * 32];
+        this.tamaño = 0;
+        this.finTexto = 0;
+        this.textoLibre = 0;
+    }
+
+    /**
+     * Inserta los datos de una persona como una nueva fila.
+     *
+     * @param persona la persona a copiar en el almacen.
+     * @return la fila asignada.
+     */
+    public int insertar(Persona persona) {
+        return insertar(persona.getDni(), persona.getNombreCompleto(), persona.getDomicilio(),
+                persona.getFechaNacimiento());
+    }
+
+    /**
+     * Inserta una nueva fila con los datos proporcionados.
+     *
+     * @param dni el DNI de la persona.
+     * @param nombreCompleto el nombre completo.
+     * @param domicilio el domicilio.
+     * @param fechaNacimiento la fecha de nacimiento.
+     * @return la fila asignada.
+     */
+    public int insertar(long dni, String nombreCompleto, String domicilio, Fecha fechaNacimiento) {
+        if (tamaño == this.dni.length) {
+            crecer();
+        }
+        byte[] nombre = nombreCompleto.getBytes(StandardCharsets.UTF_8);
+        byte[] dom = domicilio.getBytes(StandardCharsets.UTF_8);
+
+        int fila = tamaño;
+        this.dni[fila] = dni;
+        this.fechaNacimiento[fila] = fechaNacimiento.empaquetar();
+        this.inicioTexto[fila] = escribirTexto(nombre, dom);
+        this.largoNombre[fila] = nombre.length;
+        this.largoDomicilio[fila] = dom.length;
+        tamaño++;
+        return fila;
+    }
+
+    /**
+     * Busca la primera fila con el DNI indicado recorriendo solo la columna de
+     * DNIs.
+     *
+     * @param dni el DNI buscado.
+     * @return la fila encontrada, o -1 si no existe.
+     */
+    public int buscar(long dni) {
+        long[] columna = this.dni;
+        for (int i = 0; i < tamaño; i++) {
+            if (columna[i] == dni) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Elimina la primera fila con el DNI indicado. La ultima fila pasa a
+     * ocupar su lugar.
+     *
+     * @param dni el DNI de la persona a eliminar.
+     * @return la persona eliminada, o {@code null} si no existe o el almacen
+     * está vacío.
+     */
+    public Persona eliminar(long dni) {
+
+        if (tamaño == 0) {
+            System.out.println("Lista vacia!");
+            return null;
+        }
+
+        int fila = buscar(dni);
+        if (fila < 0) {
+            System.out.println("Elemento inexistente");
+            return null;
+        }
+
+        Persona eliminada = obtener(fila);
+        textoLibre += largoNombre[fila] + largoDomicilio[fila];
+
+        int ultima = tamaño - 1;
+        this.dni[fila] = this.dni[ultima];
+        this.fechaNacimiento[fila] = this.fechaNacimiento[ultima];
+        this.inicioTexto[fila] = this.inicioTexto[ultima];
+        this.largoNombre[fila] = this.largoNombre[ultima];
+        this.largoDomicilio[fila] = this.largoDomicilio[ultima];
+        tamaño--;
+
+        if (textoLibre > finTexto / 2) {
+            compactarTexto();
+        }
+        return eliminada;
+    }
+
+    /**
+     * Cuenta las personas que tienen al menos la edad indicada en la fecha de
+     * referencia. La edad es exacta: considera mes y dia de nacimiento.
+     *
+     * @param edad edad minima.
+     * @param referencia fecha en la que se evalua la edad.
+     * @return la cantidad de personas que cumplen la condicion.
+     */
+    public int contarMayoresDe(int edad, Fecha referencia) {
+        int limite = fechaLimite(edad, referencia);
+        int[] columna = fechaNacimiento;
+        int cantidad = 0;
+        for (int i = 0; i < tamaño; i++) {
+            if (columna[i] <= limite) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Obtiene las filas de las personas que tienen al menos la edad indicada
+     * en la fecha de referencia.
+     *
+     * @param edad edad minima.
+     * @param referencia fecha en la que se evalua la edad.
+     * @return las filas que cumplen la condicion, en orden creciente.
+     */
+    public int[] buscarMayoresDe(int edad, Fecha referencia) {
+        int limite = fechaLimite(edad, referencia);
+        int[] columna = fechaNacimiento;
+        int[] filas = new int[contarMayoresDe(edad, referencia)];
+        int cantidad = 0;
+        for (int i = 0; i < tamaño && cantidad < filas.length; i++) {
+            if (columna[i] <= limite) {
+                filas[cantidad++] = i;
+            }
+        }
+        return filas;
+    }
+
+    /**
+     * Muestra las personas del almacen, una por linea.
+     */
+    public void mostrar() {
+        for (int i = 0; i < tamaño; i++) {
+            System.out.println(obtener(i).toString());
+        }
+    }
+
+    /**
+     * Reconstruye la persona almacenada en una fila.
+     *
+     * @param fila el numero de fila, desde 0.
+     * @return una nueva instancia con los datos de la fila.
+     */
+    public Persona obtener(int fila) {
+        return new Persona(dni[fila], getNombreCompleto(fila), getDomicilio(fila), getFechaNacimiento(fila));
+    }
+
+    public int tamaño() {
+        return tamaño;
+    }
+
+    public long getDni(int fila) {
+        verificarFila(fila);
+        return dni[fila];
+    }
+
+    public String getNombreCompleto(int fila) {
+        verificarFila(fila);
+        return new String(texto, inicioTexto[fila], largoNombre[fila], StandardCharsets.UTF_8);
+    }
+
+    public String getDomicilio(int fila) {
+        verificarFila(fila);
+        return new String(texto, inicioTexto[fila] + largoNombre[fila], largoDomicilio[fila], StandardCharsets.UTF_8);
+    }
+
+    public Fecha getFechaNacimiento(int fila) {
+        verificarFila(fila);
+        return Fecha.desempaquetar(fechaNacimiento[fila]);
+    }
+
+    /**
+     * Calcula la mayor fecha de nacimiento empaquetada con la que se tiene al
+     * menos {@code edad} años en la fecha de referencia. El resultado puede no
+     * ser una fecha valida (29 de febrero de un año no bisiesto), pero sirve
+     * igual como cota porque el empaquetado respeta el orden cronologico.
+     */
+    private static int fechaLimite(int edad, Fecha referencia) {
+        return Fecha.empaquetar(referencia.getDia(), referencia.getMes(), referencia.getAño() - edad);
+    }
+
+    private int escribirTexto(byte[] nombre, byte[] domicilio) {
+        int largo = nombre.length + domicilio.length;
+        if (finTexto + largo > texto.length) {
+            texto = Arrays.copyOf(texto, Math.max(texto.length * 2, finTexto + largo));
+        }
+        int inicio = finTexto;
+        System.arraycopy(nombre, 0, texto, inicio, nombre.length);
+        System.arraycopy(domicilio, 0, texto, inicio + nombre.length, domicilio.length);
+        finTexto += largo;
+        return inicio;
+    }
+
+    /**
+     * Copia el texto de las filas vivas al comienzo de un buffer nuevo,
+     * descartando el espacio que ocupaban las filas eliminadas.
+     */
+    private void compactarTexto() {
+        byte[] compacto = new byte[Math.max(finTexto - textoLibre, CAPACIDAD_INICIAL)];
+        int fin = 0;
+        for (int i = 0; i < tamaño; i++) {
+            int largo = largoNombre[i] + largoDomicilio[i];
+            System.arraycopy(texto, inicioTexto[i], compacto, fin, largo);
+            inicioTexto[i] = fin;
+            fin += largo;
+        }
+        texto = compacto;
+        finTexto = fin;
+        textoLibre = 0;
+    }
+
+    private void crecer() {
+        int capacidad = dni.length * 2;
+        dni = Arrays.copyOf(dni, capacidad);
+        fechaNacimiento = Arrays.copyOf(fechaNacimiento, capacidad);
+        inicioTexto = Arrays.copyOf(inicioTexto, capacidad);
+        largoNombre = Arrays.copyOf(largoNombre, capacidad);
+        largoDomicilio = Arrays.copyOf(largoDomicilio, capacidad);
+    }
+
+    private void verificarFila(int fila) {
+        if (fila < 0 || fila >= tamaño) {
+            throw new IndexOutOfBoundsException("Fila inexistente: " + fila);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package listas_genericas;
+
+/**
+ * Reserva acotada de nodos libres para reutilizar en lugar de crear nodos
+ * nuevos.
+ *
+ * Los nodos liberados se guardan en una pila enlazada por su propio campo
+ * {@code siguiente}, de modo que la reserva no necesita estructuras
+ * auxiliares. Cuando la reserva está llena, los nodos liberados se descartan
+ * y quedan para el recolector de basura. Se lleva la cuenta de aciertos
+ * (nodos reutilizados), fallos (nodos creados porque la reserva estaba vacía)
+ * y descartes.
+ *
+ * @param <T> el tipo de dato de los nodos. Debe ser comparable.
+ * @author Carlos Álvarez
+ */
+public class PoolNodos<T extends Comparable> {
+
+    private final int capacidad;
+    private NodoSimple<T> libres;
+    private int disponibles;
+
+    private long aciertos;
+    private long fallos;
+    private long descartes;
+
+    /**
+     * Crea una reserva vacía.
+     *
+     * @param capacidad cantidad maxima de nodos libres que se conservan.
+     */
+    public PoolNodos(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa.");
+        }
+        this.capacidad = capacidad;
+        this.libres = null;
+        this.disponibles = 0;
+    }
+
+    /**
+     * Obtiene un nodo con el dato indicado, reutilizando uno libre si lo hay.
+     *
+     * @param dato el dato que contendrá el nodo.
+     * @return un nodo sin siguiente que contiene el dato.
+     */
+    public NodoSimple<T> obtener(T dato) {
+        NodoSimple<T> nodo = libres;
+        if (nodo == null) {
+            fallos++;
+            return new NodoSimple<>(dato);
+        }
+        libres = nodo.getSiguiente();
+        disponibles--;
+        aciertos++;
+        nodo.setSiguiente(null);
+        nodo.setDato(dato);
+        return nodo;
+    }
+
+    /**
+     * Devuelve un nodo a la reserva. El nodo no debe pertenecer a ninguna
+     * lista ni volver a usarse por quien lo libera.
+     *
+     * @param nodo el nodo a liberar.
+     * @return verdadero si el nodo se guardó, falso si se descartó porque la
+     * reserva estaba llena.
+     */
+    public boolean liberar(NodoSimple<T> nodo) {
+        if (disponibles >= capacidad) {
+            descartes++;
+            return false;
+        }
+        nodo.setDato(null);
+        nodo.setSiguiente(libres);
+        libres = nodo;
+        disponibles++;
+        return true;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public int getDisponibles() {
+        return disponibles;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public long getDescartes() {
+        return descartes;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolNodos{" + "capacidad=" + capacidad + ", disponibles=" + disponibles + ", aciertos=" + aciertos
+                + ", fallos=" + fallos + ", descartes=" + descartes + '}';
+    }
+
+}
@@ -0,0 +1,360 @@
+package persistencia;
+
+import entidades.Persona;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import listas_genericas.ListaSimple;
+
+/**
+ * Persistencia de una lista de personas con un snapshot y un registro de
+ * cambios.
+ *
+ * Cada cambio de la lista se agrega al {@link RegistroCambios} de la
+ * generacion actual, sin reescribir el snapshot. Cuando el registro supera el
+ * umbral de compactacion, se rota: los cambios siguientes van a un registro
+ * nuevo de la generacion siguiente, y en segundo plano se escribe un
+ * snapshot de esa generacion con una copia de la lista y se borra el registro
+ * anterior.
+ *
+ * Al abrir, se carga el snapshot y se reproducen en orden los registros cuya
+ * generacion es mayor o igual a la del snapshot; los de generaciones
+ * anteriores ya están incluidos en él y se borran. Una caída en cualquier
+ * punto de la compactacion deja, por lo tanto, un estado recuperable.
+ *
+ * Los archivos de registro se guardan junto al snapshot, con su nombre
+ * seguido de {@code .wal.} y la generacion.
+ *
+ * Los cambios se registran con el monitor del almacen, el mismo con el que
+ * {@link #compactar()} rota y cierra el registro, por lo que un cambio nunca
+ * llega a un registro ya cerrado por otro hilo.
+ *
+ * @author Carlos Álvarez
+ */
+public class AlmacenPersonas implements Closeable {
+
+    public static final PoliticaSincronizacion POLITICA_POR_DEFECTO = PoliticaSincronizacion.POR_LOTE;
+    public static final int TAMAÑO_LOTE_POR_DEFECTO = 64;
+    public static final long INTERVALO_CONFIRMACION_MS = 50;
+    public static final long UMBRAL_COMPACTACION_POR_DEFECTO = 4 * 1024 * 1024;
+
+    private final Path snapshot;
+    private final ListaSimple<Persona> lista;
+    private final PoliticaSincronizacion politica;
+    private final int tamañoLote;
+    private final long umbralCompactacion;
+    private final ScheduledExecutorService ejecutor;
+    private final boolean nuevo;
+
+    private volatile RegistroCambios registro;
+    private Future<?> compactacion;
+    private volatile boolean compactacionFallida;
+
+    private AlmacenPersonas(Path snapshot, ListaSimple<Persona> lista, PoliticaSincronizacion politica,
+            int tamañoLote, long umbralCompactacion, boolean nuevo) {
+        this.snapshot = snapshot;
+        this.lista = lista;
+        this.politica = politica;
+        this.tamañoLote = tamañoLote;
+        this.umbralCompactacion = umbralCompactacion;
+        this.nuevo = nuevo;
+        this.ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "almacen-personas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.compactacion = null;
+        this.compactacionFallida = false;
+    }
+
+    /**
+     * Abre el almacen con la politica, el tamaño de lote y el umbral de
+     * compactacion por defecto.
+     *
+     * @param snapshot el archivo del snapshot.
+     * @param lista la lista a persistir; se le agregan las personas guardadas.
+     * @return el almacen abierto.
+     * @throws IOException si ocurre un error al leer o escribir los archivos.
+     * @see #abrir(Path, ListaSimple, PoliticaSincronizacion, int, long)
+     */
+    public static AlmacenPersonas abrir(Path snapshot, ListaSimple<Persona> lista) throws IOException {
+        return abrir(snapshot, lista, POLITICA_POR_DEFECTO, TAMAÑO_LOTE_POR_DEFECTO, UMBRAL_COMPACTACION_POR_DEFECTO);
+    }
+
+    /**
+     * Abre el almacen: carga el snapshot en la lista, reproduce los registros
+     * de cambios pendientes y, si habia alguno, los compacta en un snapshot
+     * nuevo antes de comenzar un registro vacío.
+     *
+     * @param snapshot el archivo del snapshot.
+     * @param lista la lista a persistir; se le agregan las personas guardadas.
+     * @param politica cuándo forzar al disco los cambios registrados.
+     * @param tamañoLote cantidad de cambios que se escriben juntos.
+     * @param umbralCompactacion tamaño en bytes del registro de cambios a
+     * partir del cual se compacta.
+     * @return el almacen abierto.
+     * @throws IOException si ocurre un error al leer o escribir los archivos.
+     */
+    public static AlmacenPersonas abrir(Path snapshot, ListaSimple<Persona> lista, PoliticaSincronizacion politica,
+            int tamañoLote, long umbralCompactacion) throws IOException {
+        boolean existeSnapshot = Files.exists(snapshot);
+        long generacion = 0;
+        if (existeSnapshot) {
+            generacion = SnapshotPersonas.leerGeneracion(snapshot);
+            SnapshotPersonas.cargar(snapshot, lista);
+        }
+
+        TreeMap<Long, Path> registros = buscarRegistros(snapshot);
+        boolean nuevo = !existeSnapshot && registros.isEmpty();
+        List<Path> reproducidos = new ArrayList<>();
+        int cambios = 0;
+        for (var entrada : registros.entrySet()) {
+            if (entrada.getKey() < generacion) {
+                Files.delete(entrada.getValue());
+            } else {
+                cambios += RegistroCambios.reproducir(entrada.getValue(), lista);
+                reproducidos.add(entrada.getValue());
+            }
+        }
+
+        // Un registro sin cambios no altera el snapshot y puede borrarse
+        if (cambios > 0) {
+            generacion = registros.lastKey() + 1;
+            SnapshotPersonas.guardar(copiar(lista), snapshot, generacion);
+        }
+        for (Path archivo : reproducidos) {
+            Files.delete(archivo);
+        }
+
+        AlmacenPersonas almacen = new AlmacenPersonas(snapshot, lista, politica, tamañoLote,
+                umbralCompactacion, nuevo);
+        almacen.registro = RegistroCambios.crear(almacen.archivoRegistro(generacion), generacion, politica, tamañoLote);
+        if (politica != PoliticaSincronizacion.SIEMPRE) {
+            almacen.ejecutor.scheduleWithFixedDelay(almacen::confirmarPendientes,
+                    INTERVALO_CONFIRMACION_MS, INTERVALO_CONFIRMACION_MS, TimeUnit.MILLISECONDS);
+        }
+        return almacen;
+    }
+
+    /**
+     * Indica si al abrir no existia ni snapshot ni registro de cambios.
+     *
+     * @return verdadero si el almacen se creó vacío.
+     */
+    public boolean esNuevo() {
+        return nuevo;
+    }
+
+    /**
+     * Registra que una persona se insertó en la lista.
+     *
+     * @param persona la persona insertada.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public synchronized void registrarInsercion(Persona persona) throws IOException {
+        registro.registrarInsercion(persona);
+        verificarCompactacion();
+    }
+
+    /**
+     * Registra que una persona se eliminó de la lista.
+     *
+     * @param persona la persona eliminada.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public synchronized void registrarEliminacion(Persona persona) throws IOException {
+        registro.registrarEliminacion(persona.getDni());
+        verificarCompactacion();
+    }
+
+    /**
+     * Registra que se modificaron los datos de una persona de la lista.
+     *
+     * @param persona la persona actualizada.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public synchronized void registrarActualizacion(Persona persona) throws IOException {
+        registro.registrarActualizacion(persona);
+        verificarCompactacion();
+    }
+
+    /**
+     * Escribe y fuerza al disco los cambios acumulados.
+     *
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void confirmar() throws IOException {
+        registro.confirmar();
+    }
+
+    /**
+     * Inicia una compactacion en segundo plano si no hay otra en curso: rota
+     * el registro de cambios y guarda una copia de la lista como snapshot de
+     * la generacion nueva.
+     *
+     * @throws IOException si ocurre un error al rotar el registro.
+     * @see #compactarYEsperar()
+     */
+    public synchronized void compactar() throws IOException {
+        if (compactacion != null && !compactacion.isDone()) {
+            return;
+        }
+        RegistroCambios anterior = registro;
+        long generacion = anterior.getGeneracion() + 1;
+        registro = RegistroCambios.crear(archivoRegistro(generacion), generacion, politica, tamañoLote);
+        anterior.close();
+
+        // La copia se toma en este hilo; la escritura no bloquea a la lista
+        Persona[] copia = copiar(lista);
+        compactacion = ejecutor.submit(() -> {
+            try {
+                SnapshotPersonas.guardar(copia, snapshot, generacion);
+            } catch (IOException | RuntimeException e) {
+                // El registro anterior se conserva; al cerrar se vuelve a compactar
+                compactacionFallida = true;
+                System.err.println("Error al compactar " + snapshot + ": " + e.getMessage());
+                throw e;
+            }
+            compactacionFallida = false;
+            Files.delete(anterior.getArchivo());
+            return null;
+        });
+    }
+
+    /**
+     * Espera la compactacion en curso, si la hay, y luego compacta la lista
+     * completa y espera a que el snapshot quede escrito. A diferencia de
+     * {@link #compactar()}, garantiza que el snapshot incluya los cambios de
+     * la lista que no se registraron, como una importacion.
+     *
+     * @throws IOException si ocurre un error al rotar el registro o al
+     * escribir el snapshot.
+     */
+    public synchronized void compactarYEsperar() throws IOException {
+        esperarCompactacion();
+        compactar();
+        try {
+            compactacion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Compactacion interrumpida: " + snapshot);
+        } catch (ExecutionException e) {
+            throw new IOException("Error al compactar " + snapshot, e.getCause());
+        }
+    }
+
+    /**
+     * Espera la compactacion en curso, si la hay. Si falla, el error ya fue
+     * informado por {@code System.err}.
+     */
+    public synchronized void esperarCompactacion() {
+        if (compactacion == null) {
+            return;
+        }
+        try {
+            compactacion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Informado por la compactacion
+        }
+    }
+
+    /**
+     * Compacta los cambios pendientes en un snapshot, espera a que termine y
+     * cierra el registro de cambios. Tambien se compacta si la ultima
+     * compactacion falló, ya que la lista puede tener cambios que solo ella
+     * iba a guardar.
+     *
+     * @throws IOException si ocurre un error al escribir.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            esperarCompactacion();
+            if (registro.tieneCambios() || compactacionFallida) {
+                compactarYEsperar();
+            }
+        } finally {
+            try {
+                registro.close();
+            } finally {
+                ejecutor.shutdown();
+            }
+        }
+    }
+
+    public RegistroCambios getRegistro() {
+        return registro;
+    }
+
+    private void verificarCompactacion() throws IOException {
+        if (registro.tamaño() >= umbralCompactacion) {
+            compactar();
+        }
+    }
+
+    private void confirmarPendientes() {
+        try {
+            registro.confirmar();
+        } catch (IOException e) {
+            System.err.println("Error al escribir el registro de cambios: " + e.getMessage());
+        }
+    }
+
+    private Path archivoRegistro(long generacion) {
+        return snapshot.resolveSibling(snapshot.getFileName() + ".wal." + generacion);
+    }
+
+    /**
+     * Busca los archivos de registro de cambios de un snapshot, ordenados por
+     * generacion.
+     */
+    private static TreeMap<Long, Path> buscarRegistros(Path snapshot) throws IOException {
+        TreeMap<Long, Path> registros = new TreeMap<>();
+        Path directorio = snapshot.toAbsolutePath().getParent();
+        String prefijo = snapshot.getFileName() + ".wal.";
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, prefijo + "*")) {
+            for (Path archivo : archivos) {
+                try {
+                    long generacion = Long.parseLong(archivo.getFileName().toString().substring(prefijo.length()));
+                    if (Files.size(archivo) < RegistroCambios.TAMAÑO_CABECERA) {
+                        // Creado pero sin cabecera completa: no llegó a tener cambios
+                        Files.delete(archivo);
+                    } else if (generacion == RegistroCambios.leerGeneracion(archivo)) {
+                        registros.put(generacion, archivo);
+                    }
+                } catch (NumberFormatException e) {
+                    // No es un registro de cambios de este snapshot
+                }
+            }
+        }
+        return registros;
+    }
+
+    /**
+     * Copia las personas de la lista, para que los cambios posteriores no
+     * alteren el snapshot que se está escribiendo.
+     */
+    private static Persona[] copiar(ListaSimple<Persona> lista) {
+        Persona[] copia = new Persona[lista.tamaño()];
+        int i = 0;
+        for (Persona persona : lista) {
+            copia[i++] = new Persona(persona.getDni(), persona.getNombreCompleto(), persona.getDomicilio(),
+                    persona.getFechaNacimiento());
+        }
+        return copia;
+    }
+
+}
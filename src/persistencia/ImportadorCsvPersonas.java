@@ -0,0 +1,368 @@
+package persistencia;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import listas_genericas.ListaSimple;
+import listas_genericas.NodoSimple;
+
+/**
+ * Importa personas desde un archivo CSV con una linea por persona:
+ *
+ * <pre>
+ * dni,nombreCompleto,domicilio,aaaa-mm-dd
+ * </pre>
+ *
+ * El archivo se lee con un {@code FileChannel} en bloques de bytes cortados
+ * en el ultimo fin de linea; cada bloque se parsea y valida en un hilo del
+ * ejecutor, directamente sobre los bytes (la fecha con
+ * {@link Fecha#parsearEmpaquetada(byte[], int, int)}, que la valida con
+ * {@link Fecha#esFechaValida(int, int, int)}). Los resultados se insertan al
+ * final de la lista en el orden del archivo con {@code insertarTodos}.
+ *
+ * La cantidad de bloques leídos y aún no insertados está acotada, por lo que
+ * la memoria usada no depende del tamaño del archivo. Las lineas invalidas se
+ * informan con su numero y el motivo, y la importacion continua; tambien se
+ * informan, como "DNI repetido", las personas que una lista sin claves
+ * repetidas no insertó porque su DNI ya existia. Los campos
+ * no admiten comillas ni comas internas; las lineas en blanco se ignoran.
+ *
+ * @author Carlos Álvarez
+ */
+public class ImportadorCsvPersonas {
+
+    public static final int TAMAÑO_BLOQUE = 1024 * 1024;
+
+    private static final byte SEPARADOR = ',';
+    private static final int CAMPOS = 4;
+    private static final int MAXIMO_DIGITOS_DNI = 18;
+
+    private ImportadorCsvPersonas() {
+    }
+
+    /**
+     * Una linea del archivo que no pudo importarse.
+     */
+    public static class LineaInvalida {
+
+        private final long numero;
+        private final String motivo;
+
+        LineaInvalida(long numero, String motivo) {
+            this.numero = numero;
+            this.motivo = motivo;
+        }
+
+        /**
+         * @return el numero de linea, a partir de 1.
+         */
+        public long getNumero() {
+            return numero;
+        }
+
+        public String getMotivo() {
+            return motivo;
+        }
+
+        @Override
+        public String toString() {
+            return "Linea " + numero + ": " + motivo;
+        }
+    }
+
+    /**
+     * Importa un archivo usando un hilo por procesador e informa las lineas
+     * invalidas por {@code System.err}.
+     *
+     * @param archivo el archivo CSV.
+     * @param lista la lista a la que se agregan las personas, al final.
+     * @return la cantidad de personas insertadas.
+     * @throws IOException si ocurre un error al leer.
+     * @see #importar(Path, ListaSimple, int, Consumer)
+     */
+    public static int importar(Path archivo, ListaSimple<Persona> lista) throws IOException {
+        return importar(archivo, lista, Runtime.getRuntime().availableProcessors(),
+                invalida -> System.err.println(invalida));
+    }
+
+    /**
+     * Importa un archivo parseando sus bloques en paralelo. Mientras los
+     * hilos parsean, el hilo que llama lee los bloques siguientes e inserta en
+     * la lista, en orden, los que ya terminaron; la lista solo es modificada
+     * por este hilo.
+     *
+     * @param archivo el archivo CSV.
+     * @param lista la lista a la que se agregan las personas, al final.
+     * @param hilos cantidad de hilos que parsean.
+     * @param informe recibe las lineas invalidas y las de DNI repetido, en
+     * orden y desde el hilo que llama.
+     * @return la cantidad de personas insertadas.
+     * @throws IOException si ocurre un error al leer.
+     */
+    public static int importar(Path archivo, ListaSimple<Persona> lista, int hilos,
+            Consumer<LineaInvalida> informe) throws IOException {
+
+        hilos = Math.max(hilos, 1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "importador-csv");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        // Dos bloques por hilo: uno en proceso y otro esperando
+        int maximoPendientes = 2 * hilos;
+        ArrayDeque<Future<Bloque>> pendientes = new ArrayDeque<>(maximoPendientes);
+        Insercion insercion = new Insercion(lista, informe);
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            byte[] resto = new byte[0];
+            int largoResto = 0;
+            boolean fin = false;
+            while (!fin) {
+                byte[] datos = new byte[Math.max(TAMAÑO_BLOQUE, 2 * largoResto)];
+                System.arraycopy(resto, 0, datos, 0, largoResto);
+                ByteBuffer buffer = ByteBuffer.wrap(datos, largoResto, datos.length - largoResto);
+                while (buffer.hasRemaining()) {
+                    if (canal.read(buffer) < 0) {
+                        fin = true;
+                        break;
+                    }
+                }
+
+                int largo = buffer.position();
+                int corte = fin ? largo : ultimoFinDeLinea(datos, largo) + 1;
+                if (corte == 0) {
+                    // Linea más larga que el bloque: se lee otro más grande
+                    resto = datos;
+                    largoResto = largo;
+                    continue;
+                }
+                largoResto = largo - corte;
+                resto = Arrays.copyOfRange(datos, corte, largo);
+
+                if (pendientes.size() == maximoPendientes) {
+                    insercion.insertar(esperar(pendientes.poll()));
+                }
+                pendientes.add(ejecutor.submit(() -> parsear(datos, corte)));
+            }
+            while (!pendientes.isEmpty()) {
+                insercion.insertar(esperar(pendientes.poll()));
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        return insercion.insertadas;
+    }
+
+    /**
+     * Inserta los bloques en la lista y numera sus lineas invalidas segun las
+     * lineas de los bloques anteriores.
+     *
+     * Si la lista omitió personas de un bloque (por tener un DNI que ya
+     * existia, en la lista o antes en el archivo), se buscan las que no
+     * quedaron en ella para informarlas; en una lista que admite claves
+     * repetidas no se busca nada.
+     */
+    private static class Insercion {
+
+        private final ListaSimple<Persona> lista;
+        private final Consumer<LineaInvalida> informe;
+        private long lineas;
+        private int insertadas;
+
+        Insercion(ListaSimple<Persona> lista, Consumer<LineaInvalida> informe) {
+            this.lista = lista;
+            this.informe = informe;
+        }
+
+        void insertar(Bloque bloque) {
+            int insertadasBloque = lista.insertarTodos(bloque.personas);
+            insertadas += insertadasBloque;
+
+            int[] repetidas = new int[bloque.personas.length - insertadasBloque];
+            for (int i = 0, j = 0; j < repetidas.length && i < bloque.personas.length; i++) {
+                NodoSimple<Persona> nodo = lista.buscar(bloque.personas[i]);
+                if (nodo == null || nodo.getDato() != bloque.personas[i]) {
+                    repetidas[j++] = bloque.lineasPersonas[i];
+                }
+            }
+
+            // Ambas listas de lineas están ordenadas: se informan intercaladas
+            int r = 0;
+            for (int i = 0; i < bloque.cantidadInvalidas; i++) {
+                while (r < repetidas.length && repetidas[r] < bloque.lineasInvalidas[i]) {
+                    informe.accept(new LineaInvalida(lineas + repetidas[r++], "DNI repetido"));
+                }
+                informe.accept(new LineaInvalida(lineas + bloque.lineasInvalidas[i], bloque.motivos[i]));
+            }
+            while (r < repetidas.length) {
+                informe.accept(new LineaInvalida(lineas + repetidas[r++], "DNI repetido"));
+            }
+            lineas += bloque.lineas;
+        }
+    }
+
+    /**
+     * Resultado del parseo de un bloque. Los numeros de linea son relativos al
+     * comienzo del bloque.
+     */
+    private static class Bloque {
+
+        private Persona[] personas;
+        private int[] lineasPersonas;
+        private int lineas;
+        private int[] lineasInvalidas = new int[4];
+        private String[] motivos = new String[4];
+        private int cantidadInvalidas;
+
+        void invalida(int linea, String motivo) {
+            if (cantidadInvalidas == motivos.length) {
+                lineasInvalidas = Arrays.copyOf(lineasInvalidas, 2 * cantidadInvalidas);
+                motivos = Arrays.copyOf(motivos, 2 * cantidadInvalidas);
+            }
+            lineasInvalidas[cantidadInvalidas] = linea;
+            motivos[cantidadInvalidas] = motivo;
+            cantidadInvalidas++;
+        }
+    }
+
+    /**
+     * Parsea las lineas de {@code datos[0, largo)}.
+     */
+    private static Bloque parsear(byte[] datos, int largo) {
+        Bloque bloque = new Bloque();
+        Persona[] personas = new Persona[Math.max(largo / 48, 16)];
+        int[] lineasPersonas = new int[personas.length];
+        int cantidad = 0;
+        int[] comas = new int[CAMPOS - 1];
+
+        int inicio = 0;
+        while (inicio < largo) {
+            int fin = inicio;
+            int campos = 1;
+            while (fin < largo && datos[fin] != '\n') {
+                if (datos[fin] == SEPARADOR) {
+                    if (campos < CAMPOS) {
+                        comas[campos - 1] = fin;
+                    }
+                    campos++;
+                }
+                fin++;
+            }
+            int siguiente = fin + 1;
+            if (fin > inicio && datos[fin - 1] == '\r') {
+                fin--;
+            }
+            bloque.lineas++;
+
+            if (fin > inicio) {
+                Persona persona = null;
+                if (campos != CAMPOS) {
+                    bloque.invalida(bloque.lineas, "se esperaban " + CAMPOS + " campos y hay " + campos);
+                } else {
+                    persona = crearPersona(datos, inicio, comas, fin, bloque);
+                }
+                if (persona != null) {
+                    if (cantidad == personas.length) {
+                        personas = Arrays.copyOf(personas, 2 * cantidad);
+                        lineasPersonas = Arrays.copyOf(lineasPersonas, 2 * cantidad);
+                    }
+                    lineasPersonas[cantidad] = bloque.lineas;
+                    personas[cantidad++] = persona;
+                }
+            }
+            inicio = siguiente;
+        }
+
+        bloque.personas = Arrays.copyOf(personas, cantidad);
+        bloque.lineasPersonas = lineasPersonas;
+        return bloque;
+    }
+
+    private static Persona crearPersona(byte[] datos, int inicio, int[] comas, int fin, Bloque bloque) {
+        long dni = parsearDni(datos, inicio, comas[0]);
+        if (dni <= 0) {
+            bloque.invalida(bloque.lineas, "DNI invalido");
+            return null;
+        }
+        if (esBlanco(datos, comas[0] + 1, comas[1])) {
+            bloque.invalida(bloque.lineas, "el nombre completo está vacío");
+            return null;
+        }
+        if (esBlanco(datos, comas[1] + 1, comas[2])) {
+            bloque.invalida(bloque.lineas, "el domicilio está vacío");
+            return null;
+        }
+        int fecha = Fecha.parsearEmpaquetada(datos, comas[2] + 1, fin);
+        if (fecha < 0) {
+            bloque.invalida(bloque.lineas, "fecha de nacimiento invalida");
+            return null;
+        }
+        return new Persona(dni,
+                new String(datos, comas[0] + 1, comas[1] - comas[0] - 1, StandardCharsets.UTF_8),
+                new String(datos, comas[1] + 1, comas[2] - comas[1] - 1, StandardCharsets.UTF_8),
+                Fecha.desempaquetar(fecha));
+    }
+
+    /**
+     * Convierte los digitos de {@code datos[desde, hasta)} en un numero.
+     *
+     * @return el numero, o -1 si el campo está vacío, tiene otros caracteres
+     * o demasiados digitos.
+     */
+    private static long parsearDni(byte[] datos, int desde, int hasta) {
+        if (hasta == desde || hasta - desde > MAXIMO_DIGITOS_DNI) {
+            return -1;
+        }
+        long dni = 0;
+        for (int i = desde; i < hasta; i++) {
+            int digito = datos[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            dni = dni * 10 + digito;
+        }
+        return dni;
+    }
+
+    private static boolean esBlanco(byte[] datos, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            if (datos[i] != ' ' && datos[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int ultimoFinDeLinea(byte[] datos, int largo) {
+        int i = largo - 1;
+        while (i >= 0 && datos[i] != '\n') {
+            i--;
+        }
+        return i;
+    }
+
+    private static Bloque esperar(Future<Bloque> pendiente) throws IOException {
+        try {
+            return pendiente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Importacion interrumpida");
+        } catch (ExecutionException e) {
+            throw new IOException("Error al parsear un bloque", e.getCause());
+        }
+    }
+
+}
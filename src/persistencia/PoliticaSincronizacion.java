@@ -0,0 +1,28 @@
+package persistencia;
+
+/**
+ * Indica cuándo un {@link RegistroCambios} fuerza sus escrituras al disco
+ * con {@code FileChannel.force}.
+ *
+ * @author Carlos Álvarez
+ */
+public enum PoliticaSincronizacion {
+
+    /**
+     * Cada cambio se escribe y se fuerza al disco antes de retornar. Ningún
+     * cambio confirmado se pierde, a costa de una sincronizacion por cambio.
+     */
+    SIEMPRE,
+    /**
+     * Los cambios se acumulan y se escriben y fuerzan juntos al completar un
+     * lote o al vencer el intervalo de confirmacion (group commit). Ante una
+     * caída se pierden a lo sumo los cambios del ultimo lote.
+     */
+    POR_LOTE,
+    /**
+     * Los cambios se escriben por lotes pero nunca se fuerzan al disco; queda
+     * en manos del sistema operativo. Solo se sincroniza al cerrar.
+     */
+    NUNCA
+
+}
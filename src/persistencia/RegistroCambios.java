@@ -0,0 +1,395 @@
+package persistencia;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+import listas_genericas.ListaSimple;
+import listas_genericas.NodoSimple;
+
+/**
+ * Registro de cambios de solo agregado (write-ahead log) para una lista de
+ * personas.
+ *
+ * Cada cambio se guarda como un registro binario con su largo y un CRC32C de
+ * su contenido:
+ *
+ * <pre>
+ * cabecera del archivo (16 bytes):
+ *   0: numero magico "LSWL"  (int)
+ *   4: version del formato   (int)
+ *   8: generacion            (long)
+ * registro:
+ *   0: largo del contenido   (int)
+ *   4: CRC32C del contenido  (int)
+ *   8: contenido:
+ *        tipo                (byte: INSERTAR, ELIMINAR o ACTUALIZAR)
+ *        dni                 (long)
+ *        y, salvo en ELIMINAR:
+ *        fechaNacimiento     (int, empaquetada)
+ *        largo y bytes UTF-8 del nombre completo    (int, -1 si es null)
+ *        largo y bytes UTF-8 del domicilio          (int, -1 si es null)
+ * </pre>
+ *
+ * Los registros se acumulan en memoria y se escriben juntos segun la
+ * {@link PoliticaSincronizacion}. Al reproducir, un registro incompleto o con
+ * CRC incorrecto al final del archivo (una escritura interrumpida) marca el
+ * fin del registro.
+ *
+ * @author Carlos Álvarez
+ */
+public class RegistroCambios implements Closeable {
+
+    /**
+     * "LSWL" en ASCII.
+     */
+    public static final int NUMERO_MAGICO = 0x4C57534C;
+    public static final int VERSION = 1;
+
+    public static final byte INSERTAR = 1;
+    public static final byte ELIMINAR = 2;
+    public static final byte ACTUALIZAR = 3;
+
+    static final int TAMAÑO_CABECERA = 16;
+    private static final int TAMAÑO_BUFFER = 64 * 1024;
+
+    private final Path archivo;
+    private final FileChannel canal;
+    private final long generacion;
+    private final PoliticaSincronizacion politica;
+    private final int tamañoLote;
+    private final CRC32C crc;
+
+    private ByteBuffer buffer;
+    private int pendientes;
+    private long tamaño;
+    private boolean cerrado;
+
+    private RegistroCambios(Path archivo, FileChannel canal, long generacion,
+            PoliticaSincronizacion politica, int tamañoLote) {
+        this.archivo = archivo;
+        this.canal = canal;
+        this.generacion = generacion;
+        this.politica = politica;
+        this.tamañoLote = Math.max(tamañoLote, 1);
+        this.crc = new CRC32C();
+        this.buffer = ByteBuffer.allocate(TAMAÑO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        this.pendientes = 0;
+        this.tamaño = TAMAÑO_CABECERA;
+        this.cerrado = false;
+    }
+
+    /**
+     * Crea un registro de cambios vacío. Si el archivo existe, se reemplaza.
+     *
+     * @param archivo el archivo del registro.
+     * @param generacion la generacion del registro.
+     * @param politica cuándo forzar las escrituras al disco.
+     * @param tamañoLote cantidad de cambios que se acumulan antes de
+     * escribirlos (salvo con {@link PoliticaSincronizacion#SIEMPRE}).
+     * @return el registro creado.
+     * @throws IOException si ocurre un error al crear el archivo.
+     */
+    public static RegistroCambios crear(Path archivo, long generacion,
+            PoliticaSincronizacion politica, int tamañoLote) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer cabecera = ByteBuffer.allocate(TAMAÑO_CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+            cabecera.putInt(NUMERO_MAGICO).putInt(VERSION).putLong(generacion).flip();
+            SnapshotPersonas.escribirCompleto(canal, cabecera, 0);
+            canal.force(true);
+            SnapshotPersonas.sincronizarDirectorio(archivo);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        return new RegistroCambios(archivo, canal, generacion, politica, tamañoLote);
+    }
+
+    /**
+     * Registra la insercion de una persona.
+     *
+     * @param persona la persona insertada.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public synchronized void registrarInsercion(Persona persona) throws IOException {
+        agregar(INSERTAR, persona.getDni(), persona);
+    }
+
+    /**
+     * Registra la eliminacion de la persona con el DNI indicado.
+     *
+     * @param dni el DNI de la persona eliminada.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public synchronized void registrarEliminacion(long dni) throws IOException {
+        agregar(ELIMINAR, dni, null);
+    }
+
+    /**
+     * Registra los datos actuales de una persona que fue modificada.
+     *
+     * @param persona la persona actualizada.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public synchronized void registrarActualizacion(Persona persona) throws IOException {
+        agregar(ACTUALIZAR, persona.getDni(), persona);
+    }
+
+    /**
+     * Escribe los cambios acumulados y, salvo con
+     * {@link PoliticaSincronizacion#NUNCA}, los fuerza al disco. Si el
+     * registro está cerrado no hace nada.
+     *
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public synchronized void confirmar() throws IOException {
+        if (cerrado || pendientes == 0) {
+            return;
+        }
+        buffer.flip();
+        long posicion = tamaño - buffer.remaining();
+        SnapshotPersonas.escribirCompleto(canal, buffer, posicion);
+        buffer.clear();
+        pendientes = 0;
+        if (politica != PoliticaSincronizacion.NUNCA) {
+            canal.force(false);
+        }
+    }
+
+    /**
+     * Confirma los cambios pendientes, los fuerza al disco y cierra el
+     * archivo.
+     *
+     * @throws IOException si ocurre un error al escribir.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        try {
+            confirmar();
+            canal.force(false);
+        } finally {
+            cerrado = true;
+            canal.close();
+        }
+    }
+
+    /**
+     * Retorna el tamaño del registro en bytes, incluidos los cambios que aún
+     * no se escribieron.
+     *
+     * @return el tamaño del registro.
+     */
+    public synchronized long tamaño() {
+        return tamaño;
+    }
+
+    /**
+     * Indica si se registró algun cambio.
+     *
+     * @return verdadero si el registro contiene cambios.
+     */
+    public synchronized boolean tieneCambios() {
+        return tamaño > TAMAÑO_CABECERA;
+    }
+
+    public long getGeneracion() {
+        return generacion;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Lee la generacion de un archivo de registro.
+     *
+     * @param archivo el archivo a leer.
+     * @return la generacion del registro.
+     * @throws IOException si ocurre un error al leer o el archivo no tiene el
+     * formato esperado.
+     */
+    public static long leerGeneracion(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer cabecera = ByteBuffer.allocate(TAMAÑO_CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+            while (cabecera.hasRemaining() && canal.read(cabecera) >= 0) {
+            }
+            if (cabecera.hasRemaining() || cabecera.getInt(0) != NUMERO_MAGICO || cabecera.getInt(4) != VERSION) {
+                throw new IOException("Formato de registro de cambios invalido: " + archivo);
+            }
+            return cabecera.getLong(8);
+        }
+    }
+
+    /**
+     * Aplica sobre una lista los cambios guardados en un archivo de registro,
+     * en orden. El archivo se lee con lecturas posicionales, sin mapearlo,
+     * para que pueda borrarse en cuanto el metodo retorna. La lectura termina
+     * en el primer registro incompleto o dañado. Los cambios que no pueden aplicarse (insertar un DNI repetido en
+     * una lista indexada, eliminar o actualizar una persona inexistente) se
+     * omiten.
+     *
+     * @param archivo el archivo a reproducir.
+     * @param lista la lista sobre la que se aplican los cambios.
+     * @return la cantidad de registros leídos.
+     * @throws IOException si ocurre un error al leer o el archivo no tiene el
+     * formato esperado.
+     */
+    public static int reproducir(Path archivo, ListaSimple<Persona> lista) throws IOException {
+        leerGeneracion(archivo);
+        ByteBuffer datos;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Archivo demasiado grande: " + archivo);
+            }
+            datos = ByteBuffer.allocate((int) canal.size()).order(ByteOrder.LITTLE_ENDIAN);
+            SnapshotPersonas.leerCompleto(canal, datos, 0);
+        }
+
+        CRC32C crc = new CRC32C();
+        int posicion = TAMAÑO_CABECERA;
+        int leidos = 0;
+        while (datos.limit() - posicion >= 8) {
+            int largo = datos.getInt(posicion);
+            if (largo < 9 || largo > datos.limit() - posicion - 8) {
+                break;
+            }
+            ByteBuffer contenido = datos.slice(posicion + 8, largo).order(ByteOrder.LITTLE_ENDIAN);
+            crc.reset();
+            crc.update(contenido.array(), contenido.arrayOffset(), largo);
+            if ((int) crc.getValue() != datos.getInt(posicion + 4)) {
+                break;
+            }
+            aplicar(contenido, lista);
+            posicion += 8 + largo;
+            leidos++;
+        }
+        return leidos;
+    }
+
+    private void agregar(byte tipo, long dni, Persona persona) throws IOException {
+        if (cerrado) {
+            throw new IOException("Registro de cambios cerrado: " + archivo);
+        }
+        byte[] nombre = null;
+        byte[] domicilio = null;
+        int largo = 1 + Long.BYTES;
+        if (persona != null) {
+            nombre = codificar(persona.getNombreCompleto());
+            domicilio = codificar(persona.getDomicilio());
+            largo += 3 * Integer.BYTES + largoTexto(nombre) + largoTexto(domicilio);
+        }
+        reservar(8 + largo);
+
+        int inicio = buffer.position();
+        buffer.putInt(largo).putInt(0);
+        buffer.put(tipo).putLong(dni);
+        if (persona != null) {
+            buffer.putInt(persona.getFechaNacimiento().empaquetar());
+            escribirTexto(nombre);
+            escribirTexto(domicilio);
+        }
+        crc.reset();
+        crc.update(buffer.array(), inicio + 8, largo);
+        buffer.putInt(inicio + 4, (int) crc.getValue());
+
+        tamaño += 8 + largo;
+        pendientes++;
+        if (politica == PoliticaSincronizacion.SIEMPRE || pendientes >= tamañoLote) {
+            confirmar();
+        }
+    }
+
+    /**
+     * Asegura lugar en el buffer para un registro, escribiendo los pendientes
+     * o ampliándolo si hace falta.
+     */
+    private void reservar(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            confirmar();
+        }
+        if (buffer.remaining() < bytes) {
+            buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private void escribirTexto(byte[] texto) {
+        if (texto == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(texto.length).put(texto);
+        }
+    }
+
+    private static void aplicar(ByteBuffer contenido, ListaSimple<Persona> lista) {
+        byte tipo = contenido.get();
+        long dni = contenido.getLong();
+        Persona buscada = new Persona(dni, null, null, null);
+        switch (tipo) {
+            case INSERTAR -> {
+                try {
+                    lista.insertarFrente(leerPersona(contenido, dni));
+                } catch (IllegalArgumentException e) {
+                    // DNI repetido en una lista indexada
+                }
+            }
+            case ELIMINAR -> {
+                if (lista.buscar(buscada) != null) {
+                    lista.eliminar(buscada);
+                }
+            }
+            case ACTUALIZAR -> {
+                NodoSimple<Persona> nodo = lista.buscar(buscada);
+                if (nodo != null) {
+                    // Se modifica la misma instancia, como Persona.actualizarDatos
+                    try {
+                        Persona datos = leerPersona(contenido, dni);
+                        nodo.getDato().setNombreCompleto(datos.getNombreCompleto());
+                        nodo.getDato().setDomicilio(datos.getDomicilio());
+                    } catch (IllegalArgumentException e) {
+                        // Datos que la persona no admite; se conservan los actuales
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static Persona leerPersona(ByteBuffer contenido, long dni) {
+        Fecha fechaNacimiento = Fecha.desempaquetar(contenido.getInt());
+        String nombre = leerTexto(contenido);
+        String domicilio = leerTexto(contenido);
+        return new Persona(dni, nombre, domicilio, fechaNacimiento);
+    }
+
+    private static String leerTexto(ByteBuffer contenido) {
+        int largo = contenido.getInt();
+        if (largo < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[largo];
+        contenido.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] codificar(String texto) {
+        return texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int largoTexto(byte[] texto) {
+        return texto == null ? 0 : texto.length;
+    }
+
+}
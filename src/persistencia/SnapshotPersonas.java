@@ -0,0 +1,310 @@
+package persistencia;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import listas_genericas.ListaSimple;
+
+/**
+ * Guarda y carga listas de personas en un formato binario compacto.
+ *
+ * El archivo tiene una cabecera, un registro de ancho fijo por persona y un
+ * monton de textos (heap) con los nombres y domicilios en UTF-8:
+ *
+ * <pre>
+ * cabecera (40 bytes):
+ *   0: numero magico "LSPS"  (int)
+ *   4: version del formato   (int)
+ *   8: cantidad de registros (long)
+ *  16: inicio del heap       (long, desde el comienzo del archivo)
+ *  24: tamaño del heap       (long)
+ *  32: generacion            (long)
+ * registro (28 bytes):
+ *   0: dni                   (long)
+ *   8: fechaNacimiento       (int, empaquetada con Fecha.empaquetar)
+ *  12: inicio del nombre     (int, desde el comienzo del heap)
+ *  16: largo del nombre      (int, -1 si es null)
+ *  20: inicio del domicilio  (int)
+ *  24: largo del domicilio   (int, -1 si es null)
+ * </pre>
+ *
+ * Todos los enteros se escriben en little-endian. Al guardar, los registros
+ * y el heap se acumulan en dos buffers que se escriben en sus posiciones del
+ * archivo con un {@code FileChannel}, en una sola pasada por la lista, y el
+ * archivo temporal reemplaza al anterior con un renombrado atomico. Al
+ * cargar, el archivo se lee con lecturas posicionales y se reconstruyen las
+ * personas con una lectura secuencial, sin parsear texto; con
+ * {@link VistaSnapshotPersonas} tambien pueden leerse directamente de un
+ * mapeo en memoria sin reconstruir la lista.
+ *
+ * La generacion indica qué registros de cambios ({@link RegistroCambios}) ya
+ * están incluidos en el snapshot: solo deben reproducirse sobre él los de
+ * generacion mayor o igual. La version 1 del formato no tenía generacion (su
+ * cabecera era de 32 bytes) y se sigue pudiendo leer, como generacion 0.
+ *
+ * @author Carlos Álvarez
+ */
+public class SnapshotPersonas {
+
+    /**
+     * "LSPS" en ASCII.
+     */
+    public static final int NUMERO_MAGICO = 0x5350534C;
+    public static final int VERSION = 2;
+
+    static final int TAMAÑO_CABECERA = 40;
+    static final int TAMAÑO_CABECERA_V1 = 32;
+    static final int TAMAÑO_REGISTRO = 28;
+    /**
+     * Tamaño maximo del archivo en bytes: los inicios de los textos en el
+     * heap se guardan como int.
+     */
+    public static final long TAMAÑO_MAXIMO = Integer.MAX_VALUE;
+    private static final int TAMAÑO_BUFFER = 64 * 1024;
+
+    private SnapshotPersonas() {
+    }
+
+    /**
+     * Guarda las personas de una lista, en orden, con generacion 0. El archivo
+     * se escribe primero con otro nombre y luego se renombra, por lo que una
+     * falla a mitad de camino no deja un archivo incompleto en
+     * {@code archivo}.
+     *
+     * @param lista la lista a guardar.
+     * @param archivo el archivo de destino. Si existe, se reemplaza.
+     * @return la cantidad de personas guardadas.
+     * @throws IOException si ocurre un error al escribir o el archivo
+     * superaría {@link #TAMAÑO_MAXIMO} bytes.
+     */
+    public static int guardar(ListaSimple<Persona> lista, Path archivo) throws IOException {
+        return guardar(lista, lista.tamaño(), archivo, 0);
+    }
+
+    /**
+     * Guarda las personas de un arreglo, en orden, con la generacion
+     * indicada.
+     *
+     * @param personas las personas a guardar.
+     * @param archivo el archivo de destino. Si existe, se reemplaza.
+     * @param generacion la generacion del snapshot.
+     * @return la cantidad de personas guardadas.
+     * @throws IOException si ocurre un error al escribir o el archivo
+     * superaría {@link #TAMAÑO_MAXIMO} bytes.
+     * @see #guardar(ListaSimple, Path)
+     */
+    public static int guardar(Persona[] personas, Path archivo, long generacion) throws IOException {
+        return guardar(Arrays.asList(personas), personas.length, archivo, generacion);
+    }
+
+    private static int guardar(Iterable<Persona> personas, int tamaño, Path archivo, long generacion) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        long inicioHeap = TAMAÑO_CABECERA + (long) tamaño * TAMAÑO_REGISTRO;
+        int cantidad = 0;
+        if (inicioHeap > TAMAÑO_MAXIMO) {
+            throw new IOException("Demasiadas personas para un snapshot: " + tamaño);
+        }
+
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            EscritorPosicional registros = new EscritorPosicional(canal, TAMAÑO_CABECERA);
+            EscritorPosicional heap = new EscritorPosicional(canal, inicioHeap);
+
+            for (Persona persona : personas) {
+                byte[] nombre = codificar(persona.getNombreCompleto());
+                byte[] domicilio = codificar(persona.getDomicilio());
+                if (inicioHeap + heap.getEscritos() + largo(nombre) + largo(domicilio) > TAMAÑO_MAXIMO) {
+                    throw new IOException("El snapshot supera el tamaño maximo de " + TAMAÑO_MAXIMO + " bytes");
+                }
+                ByteBuffer registro = registros.reservar(TAMAÑO_REGISTRO);
+                registro.putLong(persona.getDni());
+                registro.putInt(persona.getFechaNacimiento().empaquetar());
+                registro.putInt((int) heap.getEscritos());
+                registro.putInt(nombre == null ? -1 : nombre.length);
+                heap.escribir(nombre);
+                registro.putInt((int) heap.getEscritos());
+                registro.putInt(domicilio == null ? -1 : domicilio.length);
+                heap.escribir(domicilio);
+                cantidad++;
+            }
+            registros.vaciar();
+            heap.vaciar();
+
+            ByteBuffer cabecera = ByteBuffer.allocate(TAMAÑO_CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+            cabecera.putInt(NUMERO_MAGICO).putInt(VERSION).putLong(cantidad)
+                    .putLong(inicioHeap).putLong(heap.getEscritos()).putLong(generacion).flip();
+            escribirCompleto(canal, cabecera, 0);
+            canal.force(false);
+        }
+
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Sin esto, el renombrado puede perderse en una caída despues de
+        // borrar los registros de cambios que el snapshot incluye
+        sincronizarDirectorio(archivo);
+        return cantidad;
+    }
+
+    /**
+     * Carga las personas de un archivo y las inserta al final de una lista,
+     * en el orden en que fueron guardadas.
+     *
+     * @param archivo el archivo a leer.
+     * @param destino la lista donde se insertan las personas.
+     * @return la cantidad de personas insertadas.
+     * @throws IOException si ocurre un error al leer o el archivo no tiene el
+     * formato esperado.
+     */
+    public static int cargar(Path archivo, ListaSimple<Persona> destino) throws IOException {
+        return destino.insertarTodos(leer(archivo));
+    }
+
+    /**
+     * Lee todas las personas de un archivo. El archivo no se mapea en
+     * memoria, por lo que puede reemplazarse en cuanto el metodo retorna.
+     *
+     * @param archivo el archivo a leer.
+     * @return las personas, en el orden en que fueron guardadas.
+     * @throws IOException si ocurre un error al leer o el archivo no tiene el
+     * formato esperado.
+     * @see VistaSnapshotPersonas
+     */
+    public static Persona[] leer(Path archivo) throws IOException {
+        VistaSnapshotPersonas vista = VistaSnapshotPersonas.leer(archivo);
+        Persona[] personas;
+        try {
+            personas = vista.obtenerTodas();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Snapshot con registros invalidos: " + archivo, e);
+        }
+        return personas;
+    }
+
+    /**
+     * Lee la generacion de un snapshot sin cargar sus personas.
+     *
+     * @param archivo el archivo a leer.
+     * @return la generacion del snapshot.
+     * @throws IOException si ocurre un error al leer o el archivo no tiene el
+     * formato esperado.
+     */
+    public static long leerGeneracion(Path archivo) throws IOException {
+        return VistaSnapshotPersonas.leerGeneracion(archivo);
+    }
+
+    private static byte[] codificar(String texto) {
+        return texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int largo(byte[] texto) {
+        return texto == null ? 0 : texto.length;
+    }
+
+    static void escribirCompleto(FileChannel canal, ByteBuffer buffer, long posicion) throws IOException {
+        while (buffer.hasRemaining()) {
+            posicion += canal.write(buffer, posicion);
+        }
+    }
+
+    static void leerCompleto(FileChannel canal, ByteBuffer buffer, long posicion) throws IOException {
+        while (buffer.hasRemaining()) {
+            int leidos = canal.read(buffer, posicion);
+            if (leidos < 0) {
+                throw new EOFException("Fin de archivo inesperado en la posicion " + posicion);
+            }
+            posicion += leidos;
+        }
+    }
+
+    /**
+     * Fuerza al disco el directorio de un archivo, para que su creacion o
+     * renombrado sobreviva a una caída. En los sistemas que no permiten abrir
+     * un directorio (Windows) no hace nada.
+     *
+     * @param archivo un archivo del directorio.
+     * @throws IOException si ocurre un error al forzar el directorio.
+     */
+    static void sincronizarDirectorio(Path archivo) throws IOException {
+        FileChannel canal;
+        try {
+            canal = FileChannel.open(archivo.toAbsolutePath().getParent(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (canal) {
+            canal.force(true);
+        }
+    }
+
+    /**
+     * Acumula bytes en un buffer directo y los escribe en posiciones
+     * consecutivas del archivo a partir de una posicion inicial, sin depender
+     * de la posicion actual del canal.
+     */
+    static final class EscritorPosicional {
+
+        private final FileChannel canal;
+        private final ByteBuffer buffer;
+        private long posicion;
+        private long escritos;
+
+        EscritorPosicional(FileChannel canal, long posicion) {
+            this.canal = canal;
+            this.buffer = ByteBuffer.allocateDirect(TAMAÑO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            this.posicion = posicion;
+            this.escritos = 0;
+        }
+
+        /**
+         * Asegura que haya lugar para {@code bytes} bytes y retorna el buffer
+         * donde escribirlos.
+         */
+        ByteBuffer reservar(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                vaciar();
+            }
+            escritos += bytes;
+            return buffer;
+        }
+
+        void escribir(byte[] bytes) throws IOException {
+            if (bytes == null) {
+                return;
+            }
+            if (bytes.length > buffer.capacity()) {
+                vaciar();
+                escribirCompleto(canal, ByteBuffer.wrap(bytes), posicion);
+                posicion += bytes.length;
+                escritos += bytes.length;
+            } else {
+                reservar(bytes.length).put(bytes);
+            }
+        }
+
+        void vaciar() throws IOException {
+            buffer.flip();
+            int bytes = buffer.remaining();
+            escribirCompleto(canal, buffer, posicion);
+            posicion += bytes;
+            buffer.clear();
+        }
+
+        /**
+         * Retorna la cantidad de bytes escritos hasta ahora, incluidos los que
+         * siguen en el buffer.
+         */
+        long getEscritos() {
+            return escritos;
+        }
+    }
+
+}
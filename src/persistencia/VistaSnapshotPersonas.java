@@ -0,0 +1,226 @@
+package persistencia;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Acceso de solo lectura a un archivo de {@link SnapshotPersonas} mapeado en
+ * memoria, sin reconstruir la lista.
+ *
+ * Abrir la vista solo valida la cabecera, por lo que su costo no depende de
+ * la cantidad de personas. Cada lectura decodifica únicamente el campo pedido
+ * del registro correspondiente; el sistema operativo carga las páginas del
+ * archivo a medida que se acceden.
+ *
+ * @author Carlos Álvarez
+ */
+public class VistaSnapshotPersonas {
+
+    private final ByteBuffer datos;
+    private final int inicioRegistros;
+    private final int cantidad;
+    private final int inicioHeap;
+    private final long generacion;
+
+    private VistaSnapshotPersonas(ByteBuffer datos, int inicioRegistros, int cantidad, int inicioHeap, long generacion) {
+        this.datos = datos;
+        this.inicioRegistros = inicioRegistros;
+        this.cantidad = cantidad;
+        this.inicioHeap = inicioHeap;
+        this.generacion = generacion;
+    }
+
+    /**
+     * Mapea un archivo de snapshot y valida su cabecera.
+     *
+     * El archivo queda mapeado mientras la vista sea alcanzable, y en algunos
+     * sistemas (Windows) no puede borrarse ni reemplazarse hasta entonces.
+     * Para cargar un snapshot que luego se reescribe se usa
+     * {@link SnapshotPersonas#leer(Path)}, que no lo mapea.
+     *
+     * @param archivo el archivo a abrir.
+     * @return la vista del archivo.
+     * @throws IOException si ocurre un error al leer o el archivo no tiene el
+     * formato esperado.
+     */
+    public static VistaSnapshotPersonas abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamañoArchivo = verificarTamaño(canal.size(), archivo);
+            // El mapeo sigue siendo valido despues de cerrar el canal
+            ByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamañoArchivo);
+            return crear(mapa, tamañoArchivo, archivo);
+        }
+    }
+
+    /**
+     * Lee un archivo de snapshot completo en un buffer del heap, con lecturas
+     * posicionales, y valida su cabecera. A diferencia de
+     * {@link #abrir(Path)}, el archivo no queda en uso al retornar.
+     *
+     * @param archivo el archivo a leer.
+     * @return la vista de la copia leída.
+     * @throws IOException si ocurre un error al leer o el archivo no tiene el
+     * formato esperado.
+     */
+    static VistaSnapshotPersonas leer(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamañoArchivo = verificarTamaño(canal.size(), archivo);
+            ByteBuffer datos = ByteBuffer.allocate((int) tamañoArchivo);
+            SnapshotPersonas.leerCompleto(canal, datos, 0);
+            return crear(datos, tamañoArchivo, archivo);
+        }
+    }
+
+    /**
+     * Lee y valida solo la cabecera de un archivo de snapshot.
+     *
+     * @param archivo el archivo a leer.
+     * @return la generacion del snapshot.
+     * @throws IOException si ocurre un error al leer o el archivo no tiene el
+     * formato esperado.
+     */
+    static long leerGeneracion(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamañoArchivo = verificarTamaño(canal.size(), archivo);
+            ByteBuffer cabecera = ByteBuffer.allocate((int) Math.min(tamañoArchivo, SnapshotPersonas.TAMAÑO_CABECERA));
+            SnapshotPersonas.leerCompleto(canal, cabecera, 0);
+            // La vista no contiene los registros; solo se usa su generacion
+            return crear(cabecera, tamañoArchivo, archivo).getGeneracion();
+        }
+    }
+
+    private static long verificarTamaño(long tamañoArchivo, Path archivo) throws IOException {
+        if (tamañoArchivo > Integer.MAX_VALUE) {
+            throw new IOException("Archivo demasiado grande: " + archivo);
+        }
+        if (tamañoArchivo < SnapshotPersonas.TAMAÑO_CABECERA_V1) {
+            throw new IOException("Formato de snapshot invalido: " + archivo);
+        }
+        return tamañoArchivo;
+    }
+
+    /**
+     * Valida la cabecera de los datos de un archivo, leídos desde su
+     * comienzo.
+     */
+    private static VistaSnapshotPersonas crear(ByteBuffer datos, long tamañoArchivo, Path archivo) throws IOException {
+        datos.order(ByteOrder.LITTLE_ENDIAN);
+        int version = datos.getInt(4);
+        int inicioRegistros = (version == 1) ? SnapshotPersonas.TAMAÑO_CABECERA_V1 : SnapshotPersonas.TAMAÑO_CABECERA;
+        long cantidad = datos.getLong(8);
+        long inicioHeap = datos.getLong(16);
+        long tamañoHeap = datos.getLong(24);
+        if (datos.getInt(0) != SnapshotPersonas.NUMERO_MAGICO
+                || version < 1 || version > SnapshotPersonas.VERSION
+                || tamañoArchivo < inicioRegistros
+                || cantidad < 0 || cantidad > Integer.MAX_VALUE
+                || inicioHeap < inicioRegistros + cantidad * SnapshotPersonas.TAMAÑO_REGISTRO
+                || tamañoHeap < 0 || inicioHeap + tamañoHeap > tamañoArchivo) {
+            throw new IOException("Formato de snapshot invalido: " + archivo);
+        }
+        long generacion = (version == 1) ? 0 : datos.getLong(32);
+        return new VistaSnapshotPersonas(datos, inicioRegistros, (int) cantidad, (int) inicioHeap, generacion);
+    }
+
+    /**
+     * Reconstruye la persona de un registro.
+     *
+     * @param registro el numero de registro, desde 0.
+     * @return una nueva instancia con los datos del registro.
+     * @throws IllegalArgumentException si el registro contiene una fecha
+     * invalida.
+     */
+    public Persona obtener(int registro) {
+        return new Persona(getDni(registro), getNombreCompleto(registro), getDomicilio(registro),
+                getFechaNacimiento(registro));
+    }
+
+    /**
+     * Reconstruye todas las personas con una lectura secuencial de los
+     * registros. El heap de textos se copia una sola vez, en lugar de copiar
+     * cada texto por separado.
+     *
+     * @return las personas, en el orden en que fueron guardadas.
+     * @throws IllegalArgumentException si algun registro contiene una fecha
+     * invalida.
+     * @throws IndexOutOfBoundsException si algun texto queda fuera del heap.
+     */
+    public Persona[] obtenerTodas() {
+        int tamañoHeap = (int) datos.getLong(24);
+        byte[] heap = new byte[tamañoHeap];
+        datos.get(inicioHeap, heap);
+
+        Persona[] personas = new Persona[cantidad];
+        int posicion = inicioRegistros;
+        for (int i = 0; i < cantidad; i++, posicion += SnapshotPersonas.TAMAÑO_REGISTRO) {
+            personas[i] = new Persona(datos.getLong(posicion),
+                    decodificar(heap, datos.getInt(posicion + 12), datos.getInt(posicion + 16)),
+                    decodificar(heap, datos.getInt(posicion + 20), datos.getInt(posicion + 24)),
+                    Fecha.desempaquetar(datos.getInt(posicion + 8)));
+        }
+        return personas;
+    }
+
+    public int tamaño() {
+        return cantidad;
+    }
+
+    /**
+     * Retorna la generacion del snapshot.
+     *
+     * @return la generacion, o 0 para archivos de la version 1 del formato.
+     */
+    public long getGeneracion() {
+        return generacion;
+    }
+
+    public long getDni(int registro) {
+        return datos.getLong(posicion(registro));
+    }
+
+    public int getFechaNacimientoEmpaquetada(int registro) {
+        return datos.getInt(posicion(registro) + 8);
+    }
+
+    public Fecha getFechaNacimiento(int registro) {
+        return Fecha.desempaquetar(getFechaNacimientoEmpaquetada(registro));
+    }
+
+    public String getNombreCompleto(int registro) {
+        int posicion = posicion(registro);
+        return leerTexto(datos.getInt(posicion + 12), datos.getInt(posicion + 16));
+    }
+
+    public String getDomicilio(int registro) {
+        int posicion = posicion(registro);
+        return leerTexto(datos.getInt(posicion + 20), datos.getInt(posicion + 24));
+    }
+
+    private int posicion(int registro) {
+        if (registro < 0 || registro >= cantidad) {
+            throw new IndexOutOfBoundsException("Registro inexistente: " + registro);
+        }
+        return inicioRegistros + registro * SnapshotPersonas.TAMAÑO_REGISTRO;
+    }
+
+    private static String decodificar(byte[] heap, int inicio, int largo) {
+        return largo < 0 ? null : new String(heap, inicio, largo, StandardCharsets.UTF_8);
+    }
+
+    private String leerTexto(int inicio, int largo) {
+        if (largo < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[largo];
+        datos.get(inicioHeap + inicio, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
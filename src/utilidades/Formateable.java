@@ -0,0 +1,23 @@
+package utilidades;
+
+/**
+ * Tipo cuyo valor puede escribirse directamente en un {@code StringBuilder},
+ * sin crear la cadena intermedia de {@code toString()}.
+ *
+ * {@link GestorSalidaConsola} lo usa al imprimir tablas: los atributos de un
+ * tipo formateable se escriben en la fila con {@link #formatear}.
+ *
+ * @author Carlos Álvarez
+ */
+public interface Formateable {
+
+    /**
+     * Agrega el valor, con el mismo texto que {@code toString()}, al final de
+     * {@code destino}.
+     *
+     * @param destino donde se escribe el valor.
+     * @return el mismo {@code destino}.
+     */
+    StringBuilder formatear(StringBuilder destino);
+
+}
@@ -6,37 +6,54 @@ package utilidades;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.NoSuchElementException;
 
 /**
  * Clase para facilitar operaciones de carga por teclado en consola estándar.
+ *
+ * Todas las lecturas pasan por un unico {@code BufferedReader}, por lo que
+ * la entrada leída por adelantado no se pierde entre una lectura y la
+ * siguiente y puede redirigirse desde un archivo o un pipe.
  */
 public class GestorEntradaConsola {
 
+    private static BufferedReader entrada = new BufferedReader(new InputStreamReader(System.in));
+
+    /**
+     * Reemplaza la entrada de la que leen todos los metodos de la clase.
+     *
+     * @param nuevaEntrada la entrada a utilizar. Si no es un
+     * {@code BufferedReader}, se envuelve en uno.
+     */
+    public static void setEntrada(Reader nuevaEntrada) {
+        entrada = nuevaEntrada instanceof BufferedReader lector ? lector : new BufferedReader(nuevaEntrada);
+    }
+
+    /**
+     * Lee una linea de la entrada.
+     *
+     * @return la linea leida (sin el salto de linea), o {@code null} si la
+     * entrada terminó.
+     */
+    public static String leerLinea() {
+        return leerDato();
+    }
+
     /**
      * Lee un string desde teclado. El string termina con un salto de linea
      *
      * @return el string leido (sin el salto de linea)
+     * @throws NoSuchElementException si la entrada terminó. El resto de los
+     * metodos de lectura también la lanzan, en lugar de volver a pedir el dato
+     * indefinidamente.
      */
     public static String leerString() {
-
-        int ch;
-        String r = "";
-        boolean done = false;
-        while (!done) {
-            try {
-                ch = System.in.read();
-                if (ch < 0 || (char) ch == '\n') {
-                    done = true;
-                } else {
-                    if ((char) ch != '\r') {
-                        r = r + (char) ch;
-                    }
-                }
-            } catch (java.io.IOException e) {
-                done = true;
-            }
+        String dato = leerDato();
+        if (dato == null) {
+            throw new NoSuchElementException("Fin de la entrada");
         }
-        return r;
+        return dato;
     }
 
     /**
@@ -65,7 +82,7 @@ public class GestorEntradaConsola {
 
         while (true) {
             try {
-                return Integer.parseInt(leerDato());
+                return Integer.parseInt(leerString());
             } catch (NumberFormatException e) {
                 System.out.print("ERROR! Escriba nuevamente: ");
             }
@@ -127,7 +144,7 @@ public class GestorEntradaConsola {
     public static char leerCaracter() {
         while (true) {
             try {
-                return (char) leerDato().charAt(0);
+                return (char) leerString().charAt(0);
             } catch (NumberFormatException e) {
                 System.out.print("ERROR! Intente nuevamente: ");
             }
@@ -135,12 +152,10 @@ public class GestorEntradaConsola {
     }
 
     private static String leerDato() {
-        String dato = "";
-        InputStreamReader isr = new InputStreamReader(System.in);
-        BufferedReader flujoE = new BufferedReader(isr);
+        String dato = null;
 
         try {
-            dato = flujoE.readLine();
+            dato = entrada.readLine();
         } catch (IOException e) {
             System.err.println("Error " + e.getMessage());
         }
@@ -1,8 +1,20 @@
 package utilidades;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -14,6 +26,22 @@ import java.util.List;
  */
 public class GestorSalidaConsola {
 
+    /**
+     * Tamaño en caracteres del buffer usado por {@code imprimirTabla}.
+     */
+    public static final int TAMAÑO_BUFFER_SALIDA = 64 * 1024;
+
+    /**
+     * Renderizadores de filas ya compilados, uno por clase. Se construyen la
+     * primera vez que se muestra una instancia de cada clase.
+     */
+    private static final ClassValue<RenderizadorFila> RENDERIZADORES = new ClassValue<>() {
+        @Override
+        protected RenderizadorFila computeValue(Class<?> aClass) {
+            return new RenderizadorFila(obtenerAtributosNoConstantes(aClass));
+        }
+    };
+
     /**
      * Formatea un título centrado dentro de un espacio de longitud máxima
      * especificada.
@@ -34,21 +62,14 @@ public class GestorSalidaConsola {
      */
     public static String titulo(String titulo, int LIMITE_CARACTERES_LINEA_CONSOLA, char c1, char c2) {
 
-        String cad1 = "";
-        String cad2 = "";
-
         int cantidadCaracteres = (int) (LIMITE_CARACTERES_LINEA_CONSOLA - titulo.length()) / 2 - 2;
 
-        for (int i = 0; i <= cantidadCaracteres; i++) {
-            cad1 = cad1 + c1;
-        }
-
-        for (int i = 0; i <= cantidadCaracteres; i++) {
-            cad2 = cad2 + c2;
-        }
-        titulo = cad1 + " " + titulo + " " + cad2;
+        StringBuilder salida = new StringBuilder(Math.max(LIMITE_CARACTERES_LINEA_CONSOLA, titulo.length() + 2));
+        rellenar(salida, c1, cantidadCaracteres + 1);
+        salida.append(' ').append(titulo).append(' ');
+        rellenar(salida, c2, cantidadCaracteres + 1);
 
-        return titulo;
+        return salida.toString();
     }
 
     /**
@@ -62,37 +83,30 @@ public class GestorSalidaConsola {
      * @return los titulos de la clase en formato tabla por consola
      */
     public static String generarTitulosColumnas(Class<?> aClass, int LIMITE_CARACTERES_LINEA_CONSOLA) {
-        // Obtener los atributos no constantes
-        Field[] fields = obtenerAtributosNoConstantes(aClass);
-        int cantidadAtributos = fields.length;
-
-        // Calcular el espacio disponible para cada atributo en la línea de consola
-        int espacioPorAtributo = (int) Math.floor(LIMITE_CARACTERES_LINEA_CONSOLA / (double) cantidadAtributos);
-
-        // Construir el string con los nombres de los atributos formateados
-        StringBuilder salida = new StringBuilder();
-
-        for (Field field : fields) {
-            String nombreAtributo = field.getName().toUpperCase();
-
-            // Ajustar el nombre a la longitud adecuada
-            if (nombreAtributo.length() > espacioPorAtributo) {
-                nombreAtributo = nombreAtributo.substring(0, espacioPorAtributo); // Recortar si es necesario
-            } else {
-                // Rellenar con espacios en blanco hasta alcanzar el espacio por atributo
-                while (nombreAtributo.length() < espacioPorAtributo) {
-                    nombreAtributo += " ";
-                }
-            }
-
-            salida.append(nombreAtributo);
-        }
+        StringBuilder salida = new StringBuilder(LIMITE_CARACTERES_LINEA_CONSOLA);
+        escribirTitulosColumnas(aClass, LIMITE_CARACTERES_LINEA_CONSOLA, salida);
 
         System.out.println(salida.toString());
         
         return salida.toString();
     }
 
+    /**
+     * Agrega al final de {@code destino} los títulos de columnas de una clase,
+     * con el mismo formato que {@link #generarTitulosColumnas}, sin mostrarlos
+     * en la consola.
+     *
+     * @param aClass la clase de la cual se obtienen los nombres de los
+     * atributos.
+     * @param LIMITE_CARACTERES_LINEA_CONSOLA la longitud máxima de caracteres
+     * por línea en la consola.
+     * @param destino donde se escriben los títulos.
+     */
+    public static void escribirTitulosColumnas(Class<?> aClass, int LIMITE_CARACTERES_LINEA_CONSOLA, StringBuilder destino) {
+        RenderizadorFila renderizador = RENDERIZADORES.get(aClass);
+        renderizador.escribirTitulos(renderizador.espacioPorAtributo(LIMITE_CARACTERES_LINEA_CONSOLA), destino);
+    }
+
     /**
      * Muestra en la consola los valores de los atributos no constantes de una
      * instancia de clase, formateados para que cada atributo ocupe un espacio
@@ -106,43 +120,233 @@ public class GestorSalidaConsola {
      * @return los datos de la instancia en formato tabulado.
      */
     public static String mostrarTabulado(Class<?> aClass, Object instancia, int LIMITE_CARACTERES_LINEA_CONSOLA) {
-        // Obtener los atributos no constantes
-        Field[] fields = obtenerAtributosNoConstantes(aClass);
-        int cantidadAtributos = fields.length;
+        StringBuilder salida = new StringBuilder(LIMITE_CARACTERES_LINEA_CONSOLA);
+        escribirTabulado(aClass, instancia, LIMITE_CARACTERES_LINEA_CONSOLA, salida);
+
+        // Mostrar en pantalla el string resultante
+        System.out.println(salida.toString());
+        
+        return salida.toString();
+    }
+
+    /**
+     * Agrega al final de {@code destino} los valores de los atributos no
+     * constantes de una instancia, con el mismo formato que
+     * {@link #mostrarTabulado}, sin mostrarlos en la consola.
+     *
+     * Las celdas se recortan o rellenan directamente en {@code destino}, por
+     * lo que al reutilizar el mismo {@code StringBuilder} para todas las filas
+     * de una tabla no se crean cadenas por celda (salvo las que produzca el
+     * {@code toString()} de los atributos que no son primitivos ni cadenas).
+     *
+     * @param aClass la clase de la cual se obtienen los atributos.
+     * @param instancia la instancia de la cual se obtienen los valores de los
+     * atributos.
+     * @param LIMITE_CARACTERES_LINEA_CONSOLA la longitud máxima de caracteres
+     * por línea en la consola.
+     * @param destino donde se escribe la fila.
+     */
+    public static void escribirTabulado(Class<?> aClass, Object instancia, int LIMITE_CARACTERES_LINEA_CONSOLA, StringBuilder destino) {
+        // Los atributos y sus lectores se obtienen una sola vez por clase
+        RenderizadorFila renderizador = RENDERIZADORES.get(aClass);
+        renderizador.escribir(instancia, renderizador.espacioPorAtributo(LIMITE_CARACTERES_LINEA_CONSOLA), destino);
+    }
 
-        // Calcular el espacio disponible para cada atributo en la línea de consola
-        int espacioPorAtributo = (int) Math.floor(LIMITE_CARACTERES_LINEA_CONSOLA / (double) cantidadAtributos);
+    /**
+     * Imprime una tabla completa: los títulos de columnas de la clase y una
+     * fila por cada elemento, con el mismo formato que
+     * {@link #generarTitulosColumnas} y {@link #mostrarTabulado}.
+     *
+     * A diferencia de llamar a {@code mostrarTabulado} por cada fila, la
+     * salida pasa por un único buffer de {@link #TAMAÑO_BUFFER_SALIDA}
+     * caracteres que solo se vacía cuando se llena y al terminar, por lo que
+     * el costo de bloqueo y escritura del flujo no se paga por fila. El flujo
+     * de destino no se cierra.
+     *
+     * @param aClass la clase de la cual se obtienen los atributos.
+     * @param filas los elementos a imprimir.
+     * @param LIMITE_CARACTERES_LINEA_CONSOLA la longitud máxima de caracteres
+     * por línea.
+     * @param destino el flujo donde se escribe la tabla (por ejemplo,
+     * {@code System.out} o un {@code FileOutputStream}).
+     * @return la cantidad de filas impresas, sin contar los títulos.
+     * @throws UncheckedIOException si ocurre un error al escribir.
+     */
+    public static int imprimirTabla(Class<?> aClass, Iterable<?> filas, int LIMITE_CARACTERES_LINEA_CONSOLA, OutputStream destino) {
+        return imprimirTabla(aClass, filas.iterator(), LIMITE_CARACTERES_LINEA_CONSOLA, destino);
+    }
 
-        // Construir el string con los valores de los atributos formateados
-        StringBuilder salida = new StringBuilder();
+    /**
+     * Imprime una tabla con los elementos restantes de un iterador. Si el
+     * destino es un {@code PrintStream} (como {@code System.out}) se usa su
+     * codificacion, la misma que usaría {@code println}; si no, la
+     * codificacion por defecto de la JVM.
+     *
+     * @param aClass la clase de la cual se obtienen los atributos.
+     * @param filas los elementos a imprimir.
+     * @param LIMITE_CARACTERES_LINEA_CONSOLA la longitud máxima de caracteres
+     * por línea.
+     * @param destino el flujo donde se escribe la tabla. No se cierra.
+     * @return la cantidad de filas impresas, sin contar los títulos.
+     * @throws UncheckedIOException si ocurre un error al escribir.
+     * @see #imprimirTabla(Class, Iterator, int, OutputStream, Charset)
+     */
+    public static int imprimirTabla(Class<?> aClass, Iterator<?> filas, int LIMITE_CARACTERES_LINEA_CONSOLA, OutputStream destino) {
+        return imprimirTabla(aClass, filas, LIMITE_CARACTERES_LINEA_CONSOLA, destino, codificacion(destino));
+    }
 
-        for (Field field : fields) {
-            field.setAccessible(true);
-            try {
-                Object valor = field.get(instancia);
-                String valorAtributo = valor != null ? valor.toString() : "null";
-
-                // Ajustar el valor a la longitud adecuada
-                if (valorAtributo.length() > espacioPorAtributo) {
-                    valorAtributo = valorAtributo.substring(0, espacioPorAtributo); // Recortar si es necesario
-                } else {
-                    // Rellenar con espacios en blanco hasta alcanzar el espacio por atributo
-                    while (valorAtributo.length() < espacioPorAtributo) {
-                        valorAtributo += " ";
-                    }
-                }
+    /**
+     * Imprime una tabla con los elementos restantes de un iterador, con la
+     * codificacion indicada.
+     *
+     * @param aClass la clase de la cual se obtienen los atributos.
+     * @param filas los elementos a imprimir.
+     * @param LIMITE_CARACTERES_LINEA_CONSOLA la longitud máxima de caracteres
+     * por línea.
+     * @param destino el flujo donde se escribe la tabla. No se cierra.
+     * @param codificacion la codificacion con la que se escriben los
+     * caracteres.
+     * @return la cantidad de filas impresas, sin contar los títulos.
+     * @throws UncheckedIOException si ocurre un error al escribir.
+     */
+    public static int imprimirTabla(Class<?> aClass, Iterator<?> filas, int LIMITE_CARACTERES_LINEA_CONSOLA,
+            OutputStream destino, Charset codificacion) {
+        return imprimirTabla(aClass, filas, LIMITE_CARACTERES_LINEA_CONSOLA, new OutputStreamWriter(destino, codificacion));
+    }
 
-                salida.append(valorAtributo);
+    /**
+     * Imprime una tabla con los elementos restantes de un iterador en un
+     * {@code Writer}.
+     *
+     * @param aClass la clase de la cual se obtienen los atributos.
+     * @param filas los elementos a imprimir.
+     * @param LIMITE_CARACTERES_LINEA_CONSOLA la longitud máxima de caracteres
+     * por línea.
+     * @param destino donde se escribe la tabla. Se vacía al terminar, pero no
+     * se cierra.
+     * @return la cantidad de filas impresas, sin contar los títulos.
+     * @throws UncheckedIOException si ocurre un error al escribir.
+     * @see #imprimirTabla(Class, Iterable, int, OutputStream)
+     */
+    public static int imprimirTabla(Class<?> aClass, Iterator<?> filas, int LIMITE_CARACTERES_LINEA_CONSOLA, Writer destino) {
+        RenderizadorFila renderizador = RENDERIZADORES.get(aClass);
+        int espacioPorAtributo = renderizador.espacioPorAtributo(LIMITE_CARACTERES_LINEA_CONSOLA);
 
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
+        // Un solo StringBuilder y un solo char[] para todas las filas
+        StringBuilder fila = new StringBuilder(LIMITE_CARACTERES_LINEA_CONSOLA + 1);
+        char[] caracteres = new char[LIMITE_CARACTERES_LINEA_CONSOLA + 1];
+        int cantidad = 0;
+
+        try {
+            BufferedWriter salida = new BufferedWriter(destino, TAMAÑO_BUFFER_SALIDA);
+
+            renderizador.escribirTitulos(espacioPorAtributo, fila);
+            caracteres = escribirLinea(fila, caracteres, salida);
+
+            while (filas.hasNext()) {
+                fila.setLength(0);
+                renderizador.escribir(filas.next(), espacioPorAtributo, fila);
+                caracteres = escribirLinea(fila, caracteres, salida);
+                cantidad++;
             }
+
+            salida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return cantidad;
+    }
 
-        // Mostrar en pantalla el string resultante
-        System.out.println(salida.toString());
-        
-        return salida.toString();
+    /**
+     * Imprime los elementos restantes de un iterador, uno por linea, usando su
+     * método {@code toString()}. Al igual que {@code imprimirTabla}, la salida
+     * pasa por un único buffer que se vacía al llenarse y al terminar, y usa
+     * la codificacion del destino si es un {@code PrintStream}.
+     *
+     * @param elementos los elementos a imprimir.
+     * @param destino el flujo donde se escriben. No se cierra.
+     * @return la cantidad de elementos impresos.
+     * @throws UncheckedIOException si ocurre un error al escribir.
+     * @see #imprimir(Iterator, OutputStream, Charset)
+     */
+    public static int imprimir(Iterator<?> elementos, OutputStream destino) {
+        return imprimir(elementos, destino, codificacion(destino));
+    }
+
+    /**
+     * Imprime los elementos restantes de un iterador, uno por linea, con la
+     * codificacion indicada.
+     *
+     * @param elementos los elementos a imprimir.
+     * @param destino el flujo donde se escriben. No se cierra.
+     * @param codificacion la codificacion con la que se escriben los
+     * caracteres.
+     * @return la cantidad de elementos impresos.
+     * @throws UncheckedIOException si ocurre un error al escribir.
+     */
+    public static int imprimir(Iterator<?> elementos, OutputStream destino, Charset codificacion) {
+        int cantidad = 0;
+        try {
+            BufferedWriter salida = new BufferedWriter(new OutputStreamWriter(destino, codificacion), TAMAÑO_BUFFER_SALIDA);
+            while (elementos.hasNext()) {
+                salida.write(String.valueOf(elementos.next()));
+                salida.newLine();
+                cantidad++;
+            }
+            salida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return cantidad;
+    }
+
+    /**
+     * Codificacion con la que se escribe en un flujo: la del
+     * {@code PrintStream} (en {@code System.out}, la de la consola) o, para
+     * otros flujos, la codificacion por defecto de la JVM.
+     */
+    private static Charset codificacion(OutputStream destino) {
+        return destino instanceof PrintStream flujo ? flujo.charset() : Charset.defaultCharset();
+    }
+
+    /**
+     * Escribe el contenido de {@code linea} seguido de un salto de linea,
+     * copiándolo primero a {@code caracteres} para no crear una cadena.
+     *
+     * @return el arreglo auxiliar, ampliado si la linea no entraba.
+     */
+    private static char[] escribirLinea(StringBuilder linea, char[] caracteres, Writer salida) throws IOException {
+        linea.append(System.lineSeparator());
+        int largo = linea.length();
+        if (largo > caracteres.length) {
+            caracteres = new char[largo];
+        }
+        linea.getChars(0, largo, caracteres, 0);
+        salida.write(caracteres, 0, largo);
+        return caracteres;
+    }
+
+    /**
+     * Agrega {@code cantidad} veces el carácter {@code c} al final de
+     * {@code destino}. Una cantidad negativa no agrega nada.
+     */
+    private static void rellenar(StringBuilder destino, char c, int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            destino.append(c);
+        }
+    }
+
+    /**
+     * Ajusta a {@code ancho} caracteres la celda que comienza en
+     * {@code inicio}: la recorta si es más larga o la rellena con espacios.
+     */
+    private static void ajustarCelda(StringBuilder destino, int inicio, int ancho) {
+        int fin = inicio + ancho;
+        if (destino.length() > fin) {
+            destino.setLength(fin);
+        } else {
+            rellenar(destino, ' ', fin - destino.length());
+        }
     }
 
     /**
@@ -169,4 +373,114 @@ public class GestorSalidaConsola {
         return nonConstantFields.toArray(new Field[0]);
     }
 
+    /**
+     * Lector de un atributo que escribe su valor directamente en un
+     * {@code StringBuilder}.
+     */
+    @FunctionalInterface
+    private interface EscritorAtributo {
+
+        void escribir(Object instancia, StringBuilder destino) throws Throwable;
+    }
+
+    /**
+     * Escribe los atributos no constantes de una clase como una fila de ancho
+     * fijo.
+     *
+     * Cada atributo se lee con un {@code MethodHandle} adaptado a su tipo
+     * exacto, por lo que los atributos primitivos (por ejemplo, el DNI de una
+     * {@code Persona}) se agregan a la salida sin crear objetos envoltorio ni
+     * cadenas intermedias.
+     */
+    private static final class RenderizadorFila {
+
+        private final EscritorAtributo[] escritores;
+        private final String[] titulos;
+
+        RenderizadorFila(Field[] fields) {
+            this.escritores = new EscritorAtributo[fields.length];
+            this.titulos = new String[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                escritores[i] = crearEscritor(fields[i]);
+                titulos[i] = fields[i].getName().toUpperCase();
+            }
+        }
+
+        /**
+         * Calcula el espacio disponible para cada atributo en la línea de
+         * consola.
+         */
+        int espacioPorAtributo(int LIMITE_CARACTERES_LINEA_CONSOLA) {
+            return (int) Math.floor(LIMITE_CARACTERES_LINEA_CONSOLA / (double) escritores.length);
+        }
+
+        void escribirTitulos(int espacioPorAtributo, StringBuilder destino) {
+            for (String titulo : titulos) {
+                int inicio = destino.length();
+                destino.append(titulo, 0, Math.min(titulo.length(), espacioPorAtributo));
+                ajustarCelda(destino, inicio, espacioPorAtributo);
+            }
+        }
+
+        /**
+         * Escribe los valores de la instancia, recortando o rellenando con
+         * espacios cada uno hasta ocupar exactamente {@code espacioPorAtributo}
+         * caracteres.
+         */
+        void escribir(Object instancia, int espacioPorAtributo, StringBuilder destino) {
+            for (EscritorAtributo escritor : escritores) {
+                int inicio = destino.length();
+                try {
+                    escritor.escribir(instancia, destino);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+                ajustarCelda(destino, inicio, espacioPorAtributo);
+            }
+        }
+
+        private static EscritorAtributo crearEscritor(Field field) {
+            MethodHandle getter;
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+                getter = lookup.unreflectGetter(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("No se puede acceder al atributo " + field.getName(), e);
+            }
+
+            Class<?> tipo = field.getType();
+            MethodHandle lector = getter.asType(MethodType.methodType(tipo.isPrimitive() ? tipo : Object.class, Object.class));
+            if (tipo == long.class) {
+                return (instancia, destino) -> destino.append((long) lector.invokeExact(instancia));
+            } else if (tipo == int.class) {
+                return (instancia, destino) -> destino.append((int) lector.invokeExact(instancia));
+            } else if (tipo == short.class) {
+                return (instancia, destino) -> destino.append((short) lector.invokeExact(instancia));
+            } else if (tipo == byte.class) {
+                return (instancia, destino) -> destino.append((byte) lector.invokeExact(instancia));
+            } else if (tipo == char.class) {
+                return (instancia, destino) -> destino.append((char) lector.invokeExact(instancia));
+            } else if (tipo == boolean.class) {
+                return (instancia, destino) -> destino.append((boolean) lector.invokeExact(instancia));
+            } else if (tipo == double.class) {
+                return (instancia, destino) -> destino.append((double) lector.invokeExact(instancia));
+            } else if (tipo == float.class) {
+                return (instancia, destino) -> destino.append((float) lector.invokeExact(instancia));
+            } else if (Formateable.class.isAssignableFrom(tipo)) {
+                // Se formatea en el destino, sin pasar por toString()
+                return (instancia, destino) -> {
+                    Formateable valor = (Formateable) (Object) lector.invokeExact(instancia);
+                    if (valor != null) {
+                        valor.formatear(destino);
+                    } else {
+                        destino.append("null");
+                    }
+                };
+            }
+            return (instancia, destino) -> destino.append((Object) lector.invokeExact(instancia));
+        }
+    }
+
 }
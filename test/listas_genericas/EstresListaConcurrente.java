@@ -0,0 +1,252 @@
+package listas_genericas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.Test;
+
+/**
+ * Pruebas de estres comunes a las listas seguras para varios hilos.
+ *
+ * Varios hilos arrancan juntos (con una barrera) y operan sobre la misma
+ * lista; cada hilo registra el resultado de sus operaciones. Al terminar se
+ * verifica que el contenido final sea el que resulta de ese historial: cada
+ * eliminacion exitosa corresponde a una insercion, ninguna clave se elimina
+ * más veces de las que se insertó y ninguna se pierde ni se duplica.
+ *
+ * Las subclases adaptan la lista concreta a las operaciones de
+ * {@link Lista}.
+ *
+ * @author Carlos Álvarez
+ */
+public abstract class EstresListaConcurrente {
+
+    protected static final int HILOS = 8;
+    private static final long ESPERA_SEGUNDOS = 60;
+
+    /**
+     * Operaciones de la lista bajo prueba, expresadas sobre el dato y no
+     * sobre el nodo.
+     */
+    protected interface Lista {
+
+        void insertarFrente(Integer clave);
+
+        /**
+         * @return el dato del nodo encontrado, o {@code null}.
+         */
+        Integer buscar(Integer clave);
+
+        /**
+         * @return el dato del nodo eliminado, o {@code null}.
+         */
+        Integer eliminar(Integer clave);
+
+        int tamaño();
+
+        Iterable<Integer> contenido();
+    }
+
+    protected abstract Lista crearLista();
+
+    /**
+     * Cada hilo inserta y elimina sus propias claves: cada una debe poder
+     * buscarse mientras está en la lista, eliminarse una sola vez y dejar de
+     * encontrarse despues.
+     */
+    @Test(timeout = 120_000)
+    public void clavesPropiasPorHilo() throws Exception {
+        Lista lista = crearLista();
+        int porHilo = 2_000;
+
+        List<List<Integer>> conservadas = ejecutar(hilo -> {
+            List<Integer> propias = new ArrayList<>();
+            for (int i = 0; i < porHilo; i++) {
+                Integer clave = hilo * porHilo + i;
+                lista.insertarFrente(clave);
+                assertEquals(clave, lista.buscar(clave));
+                if (i % 2 == 1) {
+                    assertEquals(clave, lista.eliminar(clave));
+                    assertNull(lista.buscar(clave));
+                    assertNull(lista.eliminar(clave));
+                } else {
+                    propias.add(clave);
+                }
+            }
+            return propias;
+        });
+
+        Map<Integer, Integer> esperado = new HashMap<>();
+        for (List<Integer> propias : conservadas) {
+            for (Integer clave : propias) {
+                esperado.merge(clave, 1, Integer::sum);
+            }
+        }
+        assertEquals(esperado, contar(lista));
+        assertEquals(HILOS * porHilo / 2, lista.tamaño());
+    }
+
+    /**
+     * Todos los hilos intentan eliminar las mismas claves: cada una debe
+     * eliminarse exactamente una vez y la lista debe quedar vacía.
+     */
+    @Test(timeout = 120_000)
+    public void eliminacionCompetidaDeLasMismasClaves() throws Exception {
+        Lista lista = crearLista();
+        int cantidad = 4_000;
+        for (int i = 0; i < cantidad; i++) {
+            lista.insertarFrente(i);
+        }
+        AtomicIntegerArray eliminaciones = new AtomicIntegerArray(cantidad);
+
+        ejecutar(hilo -> {
+            SplittableRandom azar = new SplittableRandom(hilo);
+            int[] orden = permutacion(cantidad, azar);
+            for (int clave : orden) {
+                Integer eliminada = lista.eliminar(clave);
+                if (eliminada != null) {
+                    assertEquals(clave, eliminada.intValue());
+                    eliminaciones.incrementAndGet(clave);
+                }
+                // Sea quien sea que la eliminó, ya no debe encontrarse
+                assertNull(lista.buscar(clave));
+            }
+            return null;
+        });
+
+        for (int i = 0; i < cantidad; i++) {
+            assertEquals("clave " + i, 1, eliminaciones.get(i));
+        }
+        assertTrue(contar(lista).isEmpty());
+        assertEquals(0, lista.tamaño());
+    }
+
+    /**
+     * Los hilos insertan, buscan y eliminan claves al azar de un rango
+     * compartido. Al final, cada clave debe aparecer tantas veces como
+     * inserciones menos eliminaciones exitosas registraron los hilos.
+     */
+    @Test(timeout = 120_000)
+    public void mezclaCompetidaCoincideConElHistorial() throws Exception {
+        Lista lista = crearLista();
+        int claves = 256;
+        int operaciones = 20_000;
+
+        List<int[]> historiales = ejecutar(hilo -> {
+            SplittableRandom azar = new SplittableRandom(1000 + hilo);
+            // Por clave: inserciones menos eliminaciones exitosas
+            int[] saldo = new int[claves];
+            for (int i = 0; i < operaciones; i++) {
+                Integer clave = azar.nextInt(claves);
+                int sorteo = azar.nextInt(10);
+                if (sorteo < 4) {
+                    lista.insertarFrente(clave);
+                    saldo[clave]++;
+                } else if (sorteo < 8) {
+                    Integer eliminada = lista.eliminar(clave);
+                    if (eliminada != null) {
+                        assertEquals(clave, eliminada);
+                        saldo[clave]--;
+                    }
+                } else {
+                    Integer encontrada = lista.buscar(clave);
+                    if (encontrada != null) {
+                        assertEquals(clave, encontrada);
+                    }
+                }
+            }
+            return saldo;
+        });
+
+        Map<Integer, Integer> esperado = new HashMap<>();
+        int total = 0;
+        for (int clave = 0; clave < claves; clave++) {
+            int saldo = 0;
+            for (int[] historial : historiales) {
+                saldo += historial[clave];
+            }
+            assertTrue("clave " + clave + " eliminada más veces de las insertadas", saldo >= 0);
+            if (saldo > 0) {
+                esperado.put(clave, saldo);
+                total += saldo;
+            }
+        }
+        assertEquals(esperado, contar(lista));
+        assertEquals(total, lista.tamaño());
+    }
+
+    /**
+     * Operacion de un hilo de la prueba.
+     */
+    protected interface Tarea<R> {
+
+        R ejecutar(int hilo) throws Exception;
+    }
+
+    /**
+     * Ejecuta la tarea en {@code HILOS} hilos que arrancan a la vez y
+     * retorna sus resultados, en orden de hilo. Un error en cualquier hilo
+     * hace fallar la prueba.
+     */
+    protected static <R> List<R> ejecutar(Tarea<R> tarea) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+        CyclicBarrier largada = new CyclicBarrier(HILOS);
+        try {
+            List<Future<R>> futuros = new ArrayList<>();
+            for (int i = 0; i < HILOS; i++) {
+                int hilo = i;
+                Callable<R> llamada = () -> {
+                    largada.await();
+                    return tarea.ejecutar(hilo);
+                };
+                futuros.add(ejecutor.submit(llamada));
+            }
+            List<R> resultados = new ArrayList<>();
+            for (Future<R> futuro : futuros) {
+                resultados.add(futuro.get(ESPERA_SEGUNDOS, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Cuenta las apariciones de cada clave en la lista.
+     */
+    protected static Map<Integer, Integer> contar(Lista lista) {
+        Map<Integer, Integer> apariciones = new HashMap<>();
+        for (Integer clave : lista.contenido()) {
+            apariciones.merge(clave, 1, Integer::sum);
+        }
+        return apariciones;
+    }
+
+    private static int[] permutacion(int cantidad, SplittableRandom azar) {
+        int[] orden = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            orden[i] = i;
+        }
+        for (int i = cantidad - 1; i > 0; i--) {
+            int j = azar.nextInt(i + 1);
+            int auxiliar = orden[i];
+            orden[i] = orden[j];
+            orden[j] = auxiliar;
+        }
+        return orden;
+    }
+
+}
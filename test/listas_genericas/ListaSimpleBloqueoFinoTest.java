@@ -0,0 +1,80 @@
+package listas_genericas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Pruebas de estres de {@link ListaSimpleBloqueoFino}, más la liberacion de
+ * cerrojos cuando {@code compareTo()} falla.
+ *
+ * @author Carlos Álvarez
+ */
+public class ListaSimpleBloqueoFinoTest extends EstresListaConcurrente {
+
+    @Override
+    protected Lista crearLista() {
+        ListaSimpleBloqueoFino<Integer> lista = new ListaSimpleBloqueoFino<>();
+        return new Lista() {
+            @Override
+            public void insertarFrente(Integer clave) {
+                lista.insertarFrente(clave);
+            }
+
+            @Override
+            public Integer buscar(Integer clave) {
+                NodoBloqueable<Integer> nodo = lista.buscar(clave);
+                return nodo == null ? null : nodo.getDato();
+            }
+
+            @Override
+            public Integer eliminar(Integer clave) {
+                NodoBloqueable<Integer> nodo = lista.eliminar(clave);
+                return nodo == null ? null : nodo.getDato();
+            }
+
+            @Override
+            public int tamaño() {
+                return lista.tamaño();
+            }
+
+            @Override
+            public Iterable<Integer> contenido() {
+                return lista;
+            }
+        };
+    }
+
+    /**
+     * Si {@code compareTo()} lanza una excepcion durante {@code eliminar},
+     * ningun nodo debe quedar bloqueado: las operaciones siguientes, desde
+     * otro hilo, deben poder recorrer y modificar la lista.
+     */
+    @Test(timeout = 30_000)
+    public void compareToQueFallaNoDejaNodosBloqueados() throws Exception {
+        ListaSimpleBloqueoFino<Comparable> lista = new ListaSimpleBloqueoFino<>();
+        lista.insertarFrente(3);
+        lista.insertarFrente(2);
+        lista.insertarFrente(1);
+        try {
+            lista.eliminar("dos");
+            fail("Se esperaba ClassCastException");
+        } catch (ClassCastException e) {
+            // Esperada: String.compareTo(Integer)
+        }
+
+        ejecutar(hilo -> {
+            if (hilo == 0) {
+                assertEquals(2, lista.eliminar(2).getDato());
+                assertEquals(1, lista.eliminar(1).getDato());
+                assertEquals(3, lista.eliminar(3).getDato());
+                assertNull(lista.eliminar(4));
+            }
+            return null;
+        });
+        assertEquals(0, lista.tamaño());
+    }
+
+}
@@ -0,0 +1,43 @@
+package listas_genericas;
+
+/**
+ * Pruebas de estres de {@link ListaSimpleConcurrente}.
+ *
+ * @author Carlos Álvarez
+ */
+public class ListaSimpleConcurrenteTest extends EstresListaConcurrente {
+
+    @Override
+    protected Lista crearLista() {
+        ListaSimpleConcurrente<Integer> lista = new ListaSimpleConcurrente<>();
+        return new Lista() {
+            @Override
+            public void insertarFrente(Integer clave) {
+                lista.insertarFrente(clave);
+            }
+
+            @Override
+            public Integer buscar(Integer clave) {
+                NodoConcurrente<Integer> nodo = lista.buscar(clave);
+                return nodo == null ? null : nodo.getDato();
+            }
+
+            @Override
+            public Integer eliminar(Integer clave) {
+                NodoConcurrente<Integer> nodo = lista.eliminar(clave);
+                return nodo == null ? null : nodo.getDato();
+            }
+
+            @Override
+            public int tamaño() {
+                return lista.tamaño();
+            }
+
+            @Override
+            public Iterable<Integer> contenido() {
+                return lista;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,70 @@
+package listas_genericas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Pruebas de la reconstruccion del indice de {@link ListaSimpleIndexada}.
+ *
+ * @author Carlos Álvarez
+ */
+public class ListaSimpleIndexadaTest {
+
+    @Test
+    public void cadenaConClavesRepetidasNoAlteraLaLista() {
+        ListaSimpleIndexada<Integer> lista = new ListaSimpleIndexada<>(dato -> dato);
+        lista.insertarTodos(List.of(1, 2, 3));
+        NodoSimple primero = lista.getPrimero();
+
+        assertThrows(IllegalArgumentException.class, () -> lista.setPrimero(cadena(7, 8, 7)));
+
+        assertSame(primero, lista.getPrimero());
+        assertEquals(3, lista.tamaño());
+        assertEquals(List.of(1, 2, 3), contenido(lista));
+        assertNull(lista.buscar(8));
+        assertEquals(3, lista.buscar(3).getDato());
+        // El predecesor de 3 sigue indexado: eliminarlo no corta la cadena
+        assertEquals(3, lista.eliminar(3).getDato());
+        assertEquals(List.of(1, 2), contenido(lista));
+        assertSame(lista.buscar(2), lista.ultimo());
+    }
+
+    @Test
+    public void setPrimeroReconstruyeElIndice() {
+        ListaSimpleIndexada<Integer> lista = new ListaSimpleIndexada<>(dato -> dato);
+        lista.insertarTodos(List.of(1, 2, 3));
+
+        lista.setPrimero(cadena(9, 8, 7));
+
+        assertNull(lista.buscar(1));
+        assertEquals(8, lista.eliminar(8).getDato());
+        assertEquals(List.of(9, 7), contenido(lista));
+        lista.insertarFinal(1);
+        assertEquals(List.of(9, 7, 1), contenido(lista));
+    }
+
+    private static NodoSimple<Integer> cadena(Integer... datos) {
+        NodoSimple<Integer> primero = null;
+        for (int i = datos.length - 1; i >= 0; i--) {
+            NodoSimple<Integer> nodo = new NodoSimple<>(datos[i]);
+            nodo.setSiguiente(primero);
+            primero = nodo;
+        }
+        return primero;
+    }
+
+    private static List<Integer> contenido(ListaSimple<Integer> lista) {
+        List<Integer> datos = new ArrayList<>();
+        for (Integer dato : lista) {
+            datos.add(dato);
+        }
+        return datos;
+    }
+
+}
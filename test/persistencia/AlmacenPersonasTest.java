@@ -0,0 +1,249 @@
+package persistencia;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import listas_genericas.ListaPersonas;
+import listas_genericas.ListaSimple;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Pruebas de la reproduccion de los registros de cambios y de la
+ * compactacion de {@link AlmacenPersonas}.
+ *
+ * Una caída se simula dejando de usar el almacen sin cerrarlo, despues de que
+ * sus cambios llegaron al disco, y abriendo otro sobre los mismos archivos.
+ *
+ * @author Carlos Álvarez
+ */
+public class AlmacenPersonasTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private Path snapshot;
+
+    @Before
+    public void preparar() {
+        snapshot = carpeta.getRoot().toPath().resolve("personas.dat");
+    }
+
+    @Test
+    public void reproducirRecuperaLosCambiosSinCerrarElRegistro() throws IOException {
+        Path archivo = carpeta.getRoot().toPath().resolve("cambios.wal");
+        RegistroCambios registro = RegistroCambios.crear(archivo, 0, PoliticaSincronizacion.SIEMPRE, 1);
+        registro.registrarInsercion(persona(1, "Ana"));
+        registro.registrarInsercion(persona(2, "Bruno"));
+        registro.registrarInsercion(persona(3, "Carla"));
+        registro.registrarEliminacion(2);
+        registro.registrarActualizacion(persona(3, "Carla Gómez"));
+
+        ListaSimple<Persona> lista = new ListaPersonas();
+        assertEquals(5, RegistroCambios.reproducir(archivo, lista));
+        assertEquals(Map.of(1L, "Ana", 3L, "Carla Gómez"), nombres(lista));
+
+        // Sin mapeo pendiente, el archivo puede borrarse aunque siga abierto
+        // para escribir
+        Files.delete(archivo);
+        registro.close();
+    }
+
+    @Test
+    public void registroIncompletoAlFinalTerminaLaReproduccion() throws IOException {
+        Path archivo = carpeta.getRoot().toPath().resolve("cambios.wal");
+        try (RegistroCambios registro = RegistroCambios.crear(archivo, 0, PoliticaSincronizacion.NUNCA, 64)) {
+            for (int i = 1; i <= 3; i++) {
+                registro.registrarInsercion(persona(i, "Persona " + i));
+            }
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3);
+        }
+
+        ListaSimple<Persona> lista = new ListaPersonas();
+        assertEquals(2, RegistroCambios.reproducir(archivo, lista));
+        assertEquals(Map.of(1L, "Persona 1", 2L, "Persona 2"), nombres(lista));
+    }
+
+    @Test
+    public void registroConCrcIncorrectoTerminaLaReproduccion() throws IOException {
+        Path archivo = carpeta.getRoot().toPath().resolve("cambios.wal");
+        try (RegistroCambios registro = RegistroCambios.crear(archivo, 0, PoliticaSincronizacion.NUNCA, 64)) {
+            for (int i = 1; i <= 3; i++) {
+                registro.registrarInsercion(persona(i, "Persona " + i));
+            }
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Ultimo byte del domicilio del ultimo registro
+            ByteBuffer dato = ByteBuffer.allocate(1);
+            canal.read(dato, canal.size() - 1);
+            dato.put(0, (byte) (dato.get(0) ^ 1)).rewind();
+            canal.write(dato, canal.size() - 1);
+        }
+
+        ListaSimple<Persona> lista = new ListaPersonas();
+        assertEquals(2, RegistroCambios.reproducir(archivo, lista));
+        assertEquals(2, lista.tamaño());
+    }
+
+    @Test
+    public void abrirDespuesDeUnaCaidaReproduceLosCambios() throws IOException {
+        ListaSimple<Persona> lista = new ListaPersonas();
+        AlmacenPersonas almacen = AlmacenPersonas.abrir(snapshot, lista, PoliticaSincronizacion.SIEMPRE, 1,
+                AlmacenPersonas.UMBRAL_COMPACTACION_POR_DEFECTO);
+        assertTrue(almacen.esNuevo());
+        for (int i = 1; i <= 10; i++) {
+            Persona persona = persona(i, "Persona " + i);
+            lista.insertarFinal(persona);
+            almacen.registrarInsercion(persona);
+        }
+        // Caída: el almacen no se cierra y no hay snapshot
+        assertFalse(Files.exists(snapshot));
+
+        ListaSimple<Persona> recuperada = new ListaPersonas();
+        try (AlmacenPersonas reabierto = AlmacenPersonas.abrir(snapshot, recuperada)) {
+            assertFalse(reabierto.esNuevo());
+            assertEquals(nombres(lista), nombres(recuperada));
+            assertEquals(1, SnapshotPersonas.leerGeneracion(snapshot));
+            assertEquals(List.of("personas.dat.wal.1"), registros());
+        }
+        almacen.getRegistro().close();
+    }
+
+    @Test
+    public void compactacionRotaLaGeneracionYBorraElRegistroAnterior() throws IOException {
+        ListaSimple<Persona> lista = new ListaPersonas();
+        try (AlmacenPersonas almacen = AlmacenPersonas.abrir(snapshot, lista, PoliticaSincronizacion.POR_LOTE, 8, 1)) {
+            for (int i = 1; i <= 200; i++) {
+                Persona persona = persona(i, "Persona " + i);
+                lista.insertarFinal(persona);
+                almacen.registrarInsercion(persona);
+                if (i % 50 == 0) {
+                    almacen.esperarCompactacion();
+                }
+            }
+            almacen.esperarCompactacion();
+            assertTrue(almacen.getRegistro().getGeneracion() > 1);
+        }
+        long generacion = SnapshotPersonas.leerGeneracion(snapshot);
+        assertEquals(List.of("personas.dat.wal." + generacion), registros());
+
+        ListaSimple<Persona> recuperada = new ListaPersonas();
+        try (AlmacenPersonas reabierto = AlmacenPersonas.abrir(snapshot, recuperada)) {
+            assertEquals(generacion, reabierto.getRegistro().getGeneracion());
+            assertEquals(nombres(lista), nombres(recuperada));
+        }
+    }
+
+    @Test
+    public void compactacionFallidaSeInformaYSeReintentaAlCerrar() throws IOException {
+        ListaSimple<Persona> lista = new ListaPersonas();
+        AlmacenPersonas almacen = AlmacenPersonas.abrir(snapshot, lista);
+        // Como en una importacion, la persona no pasa por el registro de cambios
+        lista.insertarFinal(persona(1, "Ana"));
+
+        // Un directorio en lugar del archivo temporal impide escribir el snapshot
+        Path temporal = Files.createDirectory(snapshot.resolveSibling("personas.dat.tmp"));
+        assertThrows(IOException.class, almacen::compactarYEsperar);
+        assertFalse(almacen.getRegistro().tieneCambios());
+
+        Files.delete(temporal);
+        almacen.close();
+        ListaSimple<Persona> recuperada = new ListaPersonas();
+        try (AlmacenPersonas reabierto = AlmacenPersonas.abrir(snapshot, recuperada)) {
+            assertFalse(reabierto.esNuevo());
+            assertEquals(Map.of(1L, "Ana"), nombres(recuperada));
+        }
+    }
+
+    @Test
+    public void abrirBorraRegistrosAnterioresAlSnapshotYSinCabecera() throws IOException {
+        SnapshotPersonas.guardar(new Persona[]{persona(1, "Ana")}, snapshot, 5);
+        try (RegistroCambios viejo = RegistroCambios.crear(snapshot.resolveSibling("personas.dat.wal.3"), 3,
+                PoliticaSincronizacion.SIEMPRE, 1)) {
+            // Ya incluido en el snapshot: no debe volver a aplicarse
+            viejo.registrarInsercion(persona(2, "Bruno"));
+        }
+        Files.write(snapshot.resolveSibling("personas.dat.wal.7"), new byte[3]);
+
+        ListaSimple<Persona> lista = new ListaPersonas();
+        try (AlmacenPersonas almacen = AlmacenPersonas.abrir(snapshot, lista)) {
+            assertEquals(Map.of(1L, "Ana"), nombres(lista));
+            assertEquals(5, almacen.getRegistro().getGeneracion());
+            assertEquals(List.of("personas.dat.wal.5"), registros());
+        }
+    }
+
+    @Test
+    public void snapshotConservaLasPersonasYLaGeneracion() throws IOException {
+        Persona[] personas = {persona(1, "Ana"), new Persona(2, null, null, new Fecha(29, 2, 2000)),
+            persona(3, "Ñandú Pérez")};
+        assertEquals(3, SnapshotPersonas.guardar(personas, snapshot, 9));
+
+        Persona[] leidas = SnapshotPersonas.leer(snapshot);
+        assertEquals(9, SnapshotPersonas.leerGeneracion(snapshot));
+        assertEquals(personas.length, leidas.length);
+        for (int i = 0; i < personas.length; i++) {
+            assertEquals(personas[i].getDni(), leidas[i].getDni());
+            assertEquals(personas[i].getNombreCompleto(), leidas[i].getNombreCompleto());
+            assertEquals(personas[i].getDomicilio(), leidas[i].getDomicilio());
+            assertEquals(0, personas[i].getFechaNacimiento().compareTo(leidas[i].getFechaNacimiento()));
+        }
+        // La lectura no deja el archivo mapeado: puede reemplazarse enseguida
+        assertEquals(1, SnapshotPersonas.guardar(new Persona[]{persona(4, "Diego")}, snapshot, 10));
+        assertEquals(10, SnapshotPersonas.leerGeneracion(snapshot));
+    }
+
+    @Test
+    public void snapshotQueSuperaElTamañoMaximoNoSeEscribe() throws IOException {
+        // Solo se declara el tamaño: el limite se verifica antes de escribir
+        ListaSimple<Persona> enorme = new ListaSimple<>() {
+            @Override
+            public int tamaño() {
+                return (int) (SnapshotPersonas.TAMAÑO_MAXIMO / SnapshotPersonas.TAMAÑO_REGISTRO) + 1;
+            }
+        };
+        assertThrows(IOException.class, () -> SnapshotPersonas.guardar(enorme, snapshot));
+        assertFalse(Files.exists(snapshot));
+    }
+
+    private static Persona persona(long dni, String nombre) {
+        return new Persona(dni, nombre, "Calle " + dni, new Fecha(1, 1, 1990));
+    }
+
+    private static Map<Long, String> nombres(ListaSimple<Persona> lista) {
+        Map<Long, String> nombres = new TreeMap<>();
+        for (Persona persona : lista) {
+            nombres.put(persona.getDni(), persona.getNombreCompleto());
+        }
+        return nombres;
+    }
+
+    private List<String> registros() throws IOException {
+        try (Stream<Path> archivos = Files.list(carpeta.getRoot().toPath())) {
+            return archivos.map(archivo -> archivo.getFileName().toString())
+                    .filter(nombre -> nombre.startsWith("personas.dat.wal."))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package persistencia;
+
+import static org.junit.Assert.assertEquals;
+
+import entidades.Fecha;
+import entidades.Persona;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import listas_genericas.ListaPersonas;
+import listas_genericas.ListaSimple;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Pruebas del informe de lineas de {@link ImportadorCsvPersonas}.
+ *
+ * @author Carlos Álvarez
+ */
+public class ImportadorCsvPersonasTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    @Test
+    public void dniRepetidoSeInformaConSuLineaEnOrden() throws IOException {
+        ListaSimple<Persona> lista = new ListaPersonas();
+        lista.insertarFinal(new Persona(7, "Existente", "Calle 7", new Fecha(1, 1, 1980)));
+        Path archivo = carpeta.newFile("personas.csv").toPath();
+        Files.writeString(archivo, String.join("\n",
+                "1,Ana,Calle 1,1990-01-01",
+                "7,Repetido de la lista,Calle 7,1990-01-01",
+                "x,DNI invalido,Calle,1990-01-01",
+                "2,Bruno,Calle 2,1990-01-01",
+                "1,Repetido del archivo,Calle 1,1990-01-01",
+                "3,Carla,Calle 3,1990-02-30"), StandardCharsets.UTF_8);
+
+        List<String> informe = new ArrayList<>();
+        int insertadas = ImportadorCsvPersonas.importar(archivo, lista, 2,
+                invalida -> informe.add(invalida.toString()));
+
+        assertEquals(2, insertadas);
+        assertEquals(3, lista.tamaño());
+        assertEquals(List.of("Linea 2: DNI repetido", "Linea 3: DNI invalido", "Linea 5: DNI repetido",
+                "Linea 6: fecha de nacimiento invalida"), informe);
+    }
+
+    @Test
+    public void listaConClavesRepetidasNoInformaRepetidos() throws IOException {
+        ListaSimple<Persona> lista = new ListaSimple<>();
+        Path archivo = carpeta.newFile("personas.csv").toPath();
+        Files.writeString(archivo, "1,Ana,Calle 1,1990-01-01\n1,Ana,Calle 1,1990-01-01\n", StandardCharsets.UTF_8);
+
+        List<String> informe = new ArrayList<>();
+        assertEquals(2, ImportadorCsvPersonas.importar(archivo, lista, 1, invalida -> informe.add(invalida.toString())));
+        assertEquals(List.of(), informe);
+    }
+
+}